@@ -0,0 +1,83 @@
+package aleos.maze.jmh;
+
+import aleos.maze.general.Cell;
+import aleos.maze.general.Direction;
+import aleos.maze.general.Maze;
+import aleos.maze.solver.DynamicPathTree;
+import aleos.maze.solver.ShortestPathTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures keeping the shortest paths from the entrance up to date while random walls are opened and closed.
+ * <p>
+ * {@code repairTree} applies a batch of {@value #EDITS} random edits, each repaired by the {@link DynamicPathTree}
+ * of the maze, and is reported per edit. {@code solveAgain} applies one random edit and solves the whole maze
+ * again, which is what every edit cost before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EditBenchmark {
+
+    private static final int EDITS = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class EditState {
+
+        @Param("2001")
+        public int size;
+
+        @Param("42")
+        public long seed;
+
+        public Maze maze;
+        public SplittableRandom random;
+
+        @Setup(Level.Iteration)
+        public void generate() {
+            maze = new Maze();
+            maze.generate(size, seed);
+            maze.getDynamicPathTree();
+            random = new SplittableRandom(seed);
+        }
+
+        /**
+         * Opens or closes the wall between a random cell and one of its neighbours.
+         */
+        boolean editRandomWall() {
+            int cells = size / 2;
+            int x = 2 * random.nextInt(cells) + 1;
+            int y = 2 * random.nextInt(cells) + 1;
+            Direction direction = Direction.values()[random.nextInt(4)];
+            int neighbourX = x + 2 * direction.getX();
+            int neighbourY = y + 2 * direction.getY();
+            if (neighbourX < 1 || neighbourY < 1 || neighbourX >= size - 1 || neighbourY >= size - 1) {
+                return false;
+            }
+
+            Cell cell = Cell.of(x, y);
+            Cell neighbour = Cell.of(neighbourX, neighbourY);
+            return random.nextBoolean() ? maze.openWall(cell, neighbour) : maze.closeWall(cell, neighbour);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EDITS)
+    public ShortestPathTree repairTree(EditState state) {
+        for (int i = 0; i < EDITS; i++) {
+            state.editRandomWall();
+        }
+        return state.maze.getDynamicPathTree().getTree();
+    }
+
+    @Benchmark
+    public ShortestPathTree solveAgain(EditState state) {
+        state.editRandomWall();
+        return state.maze.findPathTree();
+    }
+}
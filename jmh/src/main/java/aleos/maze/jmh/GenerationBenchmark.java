@@ -0,0 +1,39 @@
+package aleos.maze.jmh;
+
+import aleos.maze.general.Maze;
+import aleos.maze.generator.GenerationAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Maze#generate(int, long)} with the default algorithm and with every algorithm in turn.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GenerationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class AlgorithmState {
+
+        @Param({"PRIM", "BACKTRACKER", "KRUSKAL", "ELLER", "BINARY_TREE", "SIDEWINDER", "PARALLEL"})
+        public GenerationAlgorithm algorithm;
+    }
+
+    @Benchmark
+    public Maze generate(MazeState state) {
+        Maze maze = new Maze();
+        maze.generate(state.size, state.seed);
+        return maze;
+    }
+
+    @Benchmark
+    public Maze generateWith(MazeState state, AlgorithmState algorithm) {
+        Maze maze = new Maze();
+        maze.generate(state.size, algorithm.algorithm, state.seed);
+        return maze;
+    }
+}
@@ -0,0 +1,63 @@
+package aleos.maze.jmh;
+
+import aleos.maze.general.Maze;
+import aleos.maze.graph.Terrain;
+import aleos.maze.solver.ShortestPathTree;
+import aleos.maze.solver.SolverEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every solver engine on braided mazes, with loops instead of a single path between two cells, both
+ * unweighted and weighted by a random terrain.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoopySolvingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class LoopyState {
+
+        @Param({"1001", "4001"})
+        public int size;
+
+        @Param("42")
+        public long seed;
+
+        /**
+         * The share of dead ends removed by braiding.
+         */
+        @Param("0.5")
+        public double braid;
+
+        /**
+         * The largest cost of a terrain position, 1 for a maze without terrain.
+         */
+        @Param({"1", "9"})
+        public int maxCost;
+
+        @Param({"DIJKSTRA", "BUCKET_QUEUE", "INDEXED_HEAP"})
+        public SolverEngine engine;
+
+        public Maze maze;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            maze = new Maze();
+            maze.generate(size, seed);
+            maze.braid(braid, seed);
+            if (maxCost > 1) {
+                maze.setTerrain(Terrain.random(size, size, maxCost, Maze.newRandom(seed)));
+            }
+        }
+    }
+
+    @Benchmark
+    public ShortestPathTree findPathTree(LoopyState state) {
+        return state.maze.findPathTree(state.engine);
+    }
+}
@@ -0,0 +1,25 @@
+package aleos.maze.jmh;
+
+import aleos.maze.general.Maze;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Holds a maze generated once per trial from a fixed seed, so every run measures the very same maze.
+ */
+@State(Scope.Benchmark)
+public class MazeState {
+
+    @Param({"11", "101", "501", "1001", "2001", "4001"})
+    public int size;
+
+    @Param("42")
+    public long seed;
+
+    public Maze maze;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        maze = new Maze();
+        maze.generate(size, seed);
+    }
+}
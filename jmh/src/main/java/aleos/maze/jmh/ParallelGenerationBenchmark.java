@@ -0,0 +1,54 @@
+package aleos.maze.jmh;
+
+import aleos.maze.generator.ParallelTiledGenerator;
+import aleos.maze.graph.CompactGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the speedup of {@link ParallelTiledGenerator} with a growing number of worker threads, each in a pool of
+ * its own so the common pool does not interfere.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ParallelGenerationBenchmark {
+
+    @Param("4001")
+    public int size;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param("128")
+    public int tileSize;
+
+    private ForkJoinPool pool;
+    private ParallelTiledGenerator generator;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void createPool() {
+        pool = new ForkJoinPool(threads);
+        generator = new ParallelTiledGenerator(pool, tileSize);
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public CompactGraph generate() {
+        CompactGraph graph = new CompactGraph(size, size);
+        generator.generate(graph, random);
+        return graph;
+    }
+}
@@ -0,0 +1,90 @@
+package aleos.maze.jmh;
+
+import aleos.maze.general.Maze;
+import aleos.maze.graph.GridGraph;
+import aleos.maze.graph.Node;
+import aleos.maze.solver.MazePath;
+import aleos.maze.solver.PathIndex;
+import aleos.maze.solver.PathResult;
+import aleos.maze.solver.SearchStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures queries between random pairs of cells answered from a {@link PathIndex} against answering each one
+ * with a fresh search: the point-to-point solver, or the full {@link Maze#findPaths()} every query used to run.
+ * <p>
+ * Each invocation answers one query, the pairs cycle through a fixed table drawn from the maze seed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PathQueryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class QueryState {
+
+        private static final int PAIR_COUNT = 1024;
+
+        public Maze maze;
+        public PathIndex index;
+        public GridGraph graph;
+        public int[] from = new int[PAIR_COUNT];
+        public int[] to = new int[PAIR_COUNT];
+        public int next;
+
+        @Setup(Level.Trial)
+        public void build(MazeState state) {
+            maze = state.maze;
+            index = maze.getPathIndex();
+            // the corner of the outer wall tells which identifier marks walls
+            graph = new GridGraph(maze.getGrid(), maze.getGrid().get(0, 0));
+
+            // every cell with odd coordinates is a node of a perfect maze
+            int cells = maze.getGrid().getWidth() / 2;
+            SplittableRandom random = new SplittableRandom(state.seed);
+            for (int i = 0; i < PAIR_COUNT; i++) {
+                from[i] = graph.index(2 * random.nextInt(cells) + 1, 2 * random.nextInt(cells) + 1);
+                to[i] = graph.index(2 * random.nextInt(cells) + 1, 2 * random.nextInt(cells) + 1);
+            }
+        }
+
+        int nextPair() {
+            next = (next + 1) & (PAIR_COUNT - 1);
+            return next;
+        }
+    }
+
+    @Benchmark
+    public int indexedDistance(QueryState state) {
+        int pair = state.nextPair();
+        return state.index.getDistance(state.from[pair], state.to[pair]);
+    }
+
+    @Benchmark
+    public MazePath indexedPath(QueryState state) {
+        int pair = state.nextPair();
+        return state.index.getPath(state.from[pair], state.to[pair]);
+    }
+
+    @Benchmark
+    public PathResult searchedPath(QueryState state) {
+        int pair = state.nextPair();
+        return SearchStrategy.A_STAR.getSolver().solve(state.graph, state.from[pair], state.to[pair]);
+    }
+
+    @Benchmark
+    public Map<Node, Node> findPaths(QueryState state) {
+        return state.maze.findPaths();
+    }
+
+    @Benchmark
+    public PathIndex buildIndex(QueryState state) {
+        return new PathIndex(state.graph, state.index.getRoot());
+    }
+}
@@ -0,0 +1,78 @@
+package aleos.maze.jmh;
+
+import aleos.maze.general.Maze;
+import aleos.maze.general.MazeFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving and loading a maze file the way the menu does, including opening it memory-mapped, against
+ * plain Java serialization of the {@link Maze}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+
+    private Path saved;
+    private Path serialized;
+    private Path scratch;
+
+    @Setup(Level.Trial)
+    public void createFiles(MazeState state) throws IOException {
+        saved = Files.createTempFile("maze", ".bin");
+        serialized = Files.createTempFile("maze", ".ser");
+        scratch = Files.createTempFile("maze", ".bin");
+        MazeFile.save(state.maze, saved);
+        serialize(state);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(saved);
+        Files.deleteIfExists(serialized);
+        Files.deleteIfExists(scratch);
+    }
+
+    @Benchmark
+    public void save(MazeState state) throws IOException {
+        MazeFile.save(state.maze, scratch);
+    }
+
+    @Benchmark
+    public Maze load() throws IOException {
+        return MazeFile.load(saved);
+    }
+
+    @Benchmark
+    public Maze map() throws IOException {
+        return MazeFile.map(saved);
+    }
+
+    @Benchmark
+    public void serialize(MazeState state) throws IOException {
+        try (ObjectOutputStream output =
+                     new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(serialized)))) {
+            output.writeObject(state.maze);
+        }
+    }
+
+    @Benchmark
+    public Maze deserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream input =
+                     new ObjectInputStream(new BufferedInputStream(Files.newInputStream(serialized)))) {
+            return (Maze) input.readObject();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package aleos.maze.jmh;
+
+import aleos.maze.general.Maze;
+import aleos.maze.general.Palette;
+import aleos.maze.solver.PathResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures painting the escape path onto the grid and printing the maze, both through {@code toString()} and
+ * through the byte renderer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class RenderingBenchmark {
+
+    private PathResult escape;
+    private PrintStream console;
+
+    @Setup(Level.Trial)
+    public void findEscape(MazeState state) {
+        escape = state.maze.findEscape();
+        console = new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void displayEscapePath(MazeState state) {
+        state.maze.displayEscapePath(escape);
+    }
+
+    @Benchmark
+    public String renderToString(MazeState state) {
+        return state.maze.toString();
+    }
+
+    /**
+     * Prints the maze the way the menu did before the renderer: build the string, then encode it to UTF-8.
+     */
+    @Benchmark
+    public void printString(MazeState state) {
+        console.println(state.maze);
+    }
+
+    @Benchmark
+    public void renderUnicode(MazeState state) throws IOException {
+        state.maze.render(console, Palette.UNICODE);
+    }
+
+    @Benchmark
+    public void renderCompact(MazeState state) throws IOException {
+        state.maze.render(console, Palette.COMPACT);
+    }
+}
@@ -0,0 +1,63 @@
+package aleos.maze.jmh;
+
+import aleos.maze.general.Maze;
+import aleos.maze.graph.Node;
+import aleos.maze.solver.PathResult;
+import aleos.maze.solver.SearchStrategy;
+import aleos.maze.solver.ShortestPathTree;
+import aleos.maze.solver.SolverEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full shortest path tree behind {@link Maze#findPaths()} and the point-to-point escape search, with
+ * the default engine and strategy and with every one of them in turn.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SolvingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class EngineState {
+
+        @Param({"DIJKSTRA", "BUCKET_QUEUE", "INDEXED_HEAP"})
+        public SolverEngine engine;
+    }
+
+    @State(Scope.Benchmark)
+    public static class StrategyState {
+
+        @Param({"BIDIRECTIONAL", "A_STAR"})
+        public SearchStrategy strategy;
+    }
+
+    @Benchmark
+    public Map<Node, Node> findPaths(MazeState state) {
+        return state.maze.findPaths();
+    }
+
+    @Benchmark
+    public ShortestPathTree findPathTree(MazeState state) {
+        return state.maze.findPathTree();
+    }
+
+    @Benchmark
+    public PathResult findEscape(MazeState state) {
+        return state.maze.findEscape();
+    }
+
+    @Benchmark
+    public ShortestPathTree findPathTreeWith(MazeState state, EngineState engine) {
+        return state.maze.findPathTree(engine.engine);
+    }
+
+    @Benchmark
+    public PathResult findEscapeWith(MazeState state, StrategyState strategy) {
+        return state.maze.findEscape(strategy.strategy);
+    }
+}
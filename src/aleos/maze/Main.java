@@ -1,14 +1,169 @@
 package aleos.maze;
 
+import aleos.maze.batch.BatchJob;
+import aleos.maze.batch.BatchService;
 import aleos.maze.general.Maze;
 import aleos.maze.general.MazeMenu;
+import aleos.maze.generator.StreamingGenerator;
+import aleos.maze.metrics.MazeMetrics;
+import aleos.maze.metrics.MetricsReporter;
+import aleos.maze.server.MazeServer;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Main {
 
     public static void main(String[] args) {
+        startMetrics();
+
+        if (args.length > 0 && args[0].equals("stream")) {
+            stream(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("batch")) {
+            batch(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("server")) {
+            server(args);
+            return;
+        }
+
         Maze maze = new Maze();
         MazeMenu menu = new MazeMenu();
 
         menu.start(maze);
     }
-}
\ No newline at end of file
+
+    /**
+     * Starts the periodic metrics dump if it is configured and, if the metrics are enabled, registers their MBeans,
+     * so that they can be read, reset and switched off and on again from a JMX console.
+     *
+     * @see MetricsReporter#startFromProperties()
+     */
+    private static void startMetrics() {
+        try {
+            MetricsReporter.startFromProperties();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        if (MazeMetrics.isEnabled()) {
+            MazeMetrics.registerMBeans();
+        }
+    }
+
+    /**
+     * Streams a maze of any height to a file or to the standard output.
+     * <p>
+     * Usage: {@code stream <width> <height> [file] [seed]}; the file and the seed may come in either order, a
+     * number being the seed. Without a seed a random one is used. The seed is printed, to the standard error
+     * when the maze goes to the standard output, so that the same maze can be streamed again.
+     *
+     * @param args the command line arguments
+     */
+    private static void stream(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: stream <width> <height> [file] [seed]");
+            return;
+        }
+
+        int width = Integer.parseInt(args[1]);
+        long height = Long.parseLong(args[2]);
+        String file = null;
+        Long seed = null;
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].matches("-?\\d+")) {
+                seed = Long.parseLong(args[i]);
+            } else {
+                file = args[i];
+            }
+        }
+        if (seed == null) {
+            seed = ThreadLocalRandom.current().nextLong();
+        }
+        (file == null ? System.err : System.out).println("Seed: " + seed);
+        StreamingGenerator generator = new StreamingGenerator(Maze.newRandom(seed));
+
+        // the generator buffers its output itself, and the standard output is flushed but never closed
+        try {
+            if (file != null) {
+                try (OutputStream output = new FileOutputStream(file)) {
+                    generator.generate(width, height, output);
+                }
+            } else {
+                generator.generate(width, height, System.out);
+            }
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Runs batch jobs headless and prints a report per job.
+     * <p>
+     * Usage: {@code batch <key=value>...} for a single job, or {@code batch <file>} for a file with one job per
+     * line; blank lines and lines starting with {@code #} are skipped. See {@link BatchJob} for the keys.
+     *
+     * @param args the command line arguments
+     */
+    private static void batch(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: batch <key=value>... | batch <file>");
+            return;
+        }
+
+        try {
+            List<String> specs = args[1].contains("=")
+                    ? List.of(String.join(" ", Arrays.copyOfRange(args, 1, args.length)))
+                    : Files.readAllLines(Path.of(args[1]));
+
+            BatchService service = new BatchService();
+            for (String spec : specs) {
+                if (spec.isBlank() || spec.trim().startsWith("#")) continue;
+
+                BatchJob job = BatchJob.parse(spec);
+                System.out.println(job);
+                System.out.println(service.run(job));
+            }
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts the HTTP maze server, which runs until the JVM is stopped.
+     * <p>
+     * Usage: {@code server [port] [max size] [threads]}, port 8080, the default maximal size of {@link MazeServer}
+     * and twice the number of processors as the fallback threads by default. See {@link MazeServer} for the
+     * endpoints.
+     *
+     * @param args the command line arguments
+     */
+    private static void server(String[] args) {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        int maxSize = args.length > 2 ? Integer.parseInt(args[2]) : MazeServer.DEFAULT_MAX_SIZE;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 2 * Runtime.getRuntime().availableProcessors();
+
+        try {
+            MazeServer server = new MazeServer(new InetSocketAddress(port), maxSize, threads);
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "maze-server-shutdown"));
+            System.out.println("Serving mazes on http://localhost:" + server.getPort() + "/");
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package aleos.maze.analytics;
+
+/**
+ * Holds the shape metrics of a maze that tell how hard it is: its dead ends, corridors and junctions, its loops
+ * and the length and tortuosity of its escape path.
+ * <p>
+ * The degree of a cell is the number of its open walls: a dead end has one, a cell inside a corridor two and a
+ * junction three or four.
+ */
+public class MazeAnalytics {
+
+    private final int width;
+    private final int height;
+    private final int[] degreeCounts;
+    private final long edgeCount;
+    private final int longestCorridor;
+    private final int solutionLength;
+    private final int turnCount;
+    private final int straightDistance;
+
+    /**
+     * Creates the metrics of a maze.
+     *
+     * @param width            the width of the maze grid
+     * @param height           the height of the maze grid
+     * @param degreeCounts     the number of cells of every degree, from 0 to 4
+     * @param edgeCount        the number of open walls between two cells
+     * @param longestCorridor  the longest straight run of open grid positions
+     * @param solutionLength   the length of the escape path in grid steps, or -1 if the exit is unreachable
+     * @param turnCount        the number of turns of the escape path
+     * @param straightDistance the Manhattan distance between the entrance and the exit
+     */
+    MazeAnalytics(int width, int height, int[] degreeCounts, long edgeCount, int longestCorridor,
+                  int solutionLength, int turnCount, int straightDistance) {
+        this.width = width;
+        this.height = height;
+        this.degreeCounts = degreeCounts.clone();
+        this.edgeCount = edgeCount;
+        this.longestCorridor = longestCorridor;
+        this.solutionLength = solutionLength;
+        this.turnCount = turnCount;
+        this.straightDistance = straightDistance;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of open cells of the maze.
+     *
+     * @return the number of cells
+     */
+    public int getCellCount() {
+        int cells = 0;
+        for (int count : degreeCounts) {
+            cells += count;
+        }
+        return cells;
+    }
+
+    /**
+     * Returns the number of cells with the specified number of open walls.
+     *
+     * @param degree the number of open walls, from 0 to 4
+     * @return the number of cells of that degree
+     */
+    public int getCellCount(int degree) {
+        return degreeCounts[degree];
+    }
+
+    /**
+     * Returns the number of cells with a single open wall.
+     *
+     * @return the number of dead ends
+     */
+    public int getDeadEndCount() {
+        return degreeCounts[1];
+    }
+
+    /**
+     * Returns the number of cells with three or four open walls.
+     *
+     * @return the number of junctions
+     */
+    public int getJunctionCount() {
+        return degreeCounts[3] + degreeCounts[4];
+    }
+
+    /**
+     * Returns the average number of ways on from a junction, not counting the way in.
+     *
+     * @return the branching factor, or 0 if the maze has no junctions
+     */
+    public double getBranchingFactor() {
+        int junctions = getJunctionCount();
+        return junctions == 0 ? 0 : (2.0 * degreeCounts[3] + 3.0 * degreeCounts[4]) / junctions;
+    }
+
+    /**
+     * Returns the number of independent loops, {@code edges - cells + 1}, which is 0 for a perfect maze.
+     *
+     * @return the number of loops of a connected maze
+     */
+    public long getLoopCount() {
+        return Math.max(0, edgeCount - getCellCount() + 1);
+    }
+
+    /**
+     * Returns the longest straight corridor: the longest run of open grid positions in a row or a column.
+     *
+     * @return the length of the corridor in grid positions
+     */
+    public int getLongestCorridor() {
+        return longestCorridor;
+    }
+
+    /**
+     * Returns the length of the shortest path from the entrance to the exit.
+     *
+     * @return the length in grid steps, or -1 if the exit is unreachable
+     */
+    public int getSolutionLength() {
+        return solutionLength;
+    }
+
+    /**
+     * Returns the number of turns of the shortest path from the entrance to the exit.
+     *
+     * @return the number of turns
+     */
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * Returns how much longer the escape path is than the Manhattan distance between the entrance and the exit.
+     *
+     * @return the ratio of the two lengths, at least 1, or NaN if the exit is unreachable
+     */
+    public double getTortuosity() {
+        return solutionLength < 0 ? Double.NaN : (double) solutionLength / straightDistance;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%dx%d: %d cells, %d dead ends, %d junctions, branching factor %.2f, %d loops, "
+                        + "longest corridor %d, solution %d steps with %d turns, tortuosity %.2f",
+                width, height, getCellCount(), getDeadEndCount(), getJunctionCount(), getBranchingFactor(),
+                getLoopCount(), longestCorridor, solutionLength, turnCount, getTortuosity());
+    }
+}
@@ -0,0 +1,191 @@
+package aleos.maze.analytics;
+
+import aleos.maze.general.Cell;
+import aleos.maze.grid.GridStore;
+import aleos.maze.solver.MazePath;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the {@link MazeAnalytics} of a maze in a single scan over the rows of its grid.
+ * <p>
+ * The rows are split into chunks scanned in parallel on the common fork-join pool. Every chunk reads each of its
+ * rows once, plus one row above and below, into a reused buffer and counts the cells by degree, the open walls
+ * between cells and the straight runs of open positions. A run crossing the border of two chunks is completed when
+ * the chunks are merged: a chunk remembers, for every column, how far the run at its top reaches down and the run
+ * at its bottom reaches up. Small mazes are scanned as a single chunk by the calling thread, so analyzing every
+ * maze of a batch adds no scheduling overhead.
+ */
+public final class MazeAnalyzer {
+
+    /**
+     * The fewest rows scanned by one task.
+     */
+    private static final int MIN_ROWS_PER_CHUNK = 64;
+
+    /**
+     * The number of chunks per worker of the pool, so that uneven chunks still keep every worker busy.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private MazeAnalyzer() {
+    }
+
+    /**
+     * Analyzes a maze.
+     *
+     * @param grid           the grid of the maze, not changed during the analysis
+     * @param wallIdentifier the identifier of wall cells in the grid, every other identifier is open
+     * @param entrance       the entrance of the maze
+     * @param exit           the exit of the maze
+     * @param escapePath     the shortest path from the entrance to the exit, empty if there is none
+     * @return the metrics of the maze
+     */
+    public static MazeAnalytics analyze(GridStore grid, int wallIdentifier, Cell entrance, Cell exit,
+                                        MazePath escapePath) {
+        int height = grid.getHeight();
+        int workers = CHUNKS_PER_WORKER * ForkJoinPool.getCommonPoolParallelism();
+        int rowsPerChunk = Math.max(MIN_ROWS_PER_CHUNK, (height + workers - 1) / workers);
+        int chunks = (height + rowsPerChunk - 1) / rowsPerChunk;
+
+        IntStream stream = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            stream = stream.parallel();
+        }
+        RowScan scan = stream
+                .mapToObj(chunk -> new RowScan(grid, wallIdentifier,
+                        chunk * rowsPerChunk, Math.min(height, (chunk + 1) * rowsPerChunk)))
+                .reduce(RowScan::merge)
+                .orElseThrow();
+
+        int straightDistance = Math.abs(exit.getX() - entrance.getX()) + Math.abs(exit.getY() - entrance.getY());
+        return new MazeAnalytics(grid.getWidth(), height, scan.degreeCounts, scan.edgeCount, scan.longestRun,
+                escapePath.isEmpty() ? -1 : escapePath.getLength(), escapePath.getTurnCount(), straightDistance);
+    }
+
+    /**
+     * The counts of a chunk of consecutive rows, merged with the chunks below it.
+     */
+    private static final class RowScan {
+        private int rows;
+        private final int[] degreeCounts = new int[5];
+        private long edgeCount;
+        private int longestRun;
+
+        /**
+         * The length of the run of open positions starting at the first row, per column.
+         */
+        private final int[] topRuns;
+
+        /**
+         * The length of the run of open positions ending at the last row, per column.
+         */
+        private final int[] bottomRuns;
+
+        /**
+         * Scans the rows from {@code fromY}, inclusive, to {@code toY}, exclusive.
+         */
+        RowScan(GridStore grid, int wallIdentifier, int fromY, int toY) {
+            int width = grid.getWidth();
+            int height = grid.getHeight();
+            rows = toY - fromY;
+            topRuns = new int[width];
+            bottomRuns = new int[width];
+            int[] topOpen = new int[width];
+            Arrays.fill(topOpen, 1);
+
+            byte[] above = new byte[width];
+            byte[] row = new byte[width];
+            byte[] below = new byte[width];
+            if (fromY > 0) {
+                grid.readRow(fromY - 1, above);
+            }
+            grid.readRow(fromY, row);
+
+            for (int y = fromY; y < toY; y++) {
+                if (y + 1 < height) {
+                    grid.readRow(y + 1, below);
+                }
+
+                // branch free, as walls and passages alternate too irregularly to predict
+                int run = 0;
+                int longest = longestRun;
+                for (int x = 0; x < width; x++) {
+                    int open = row[x] == wallIdentifier ? 0 : 1;
+                    run = (run + 1) * open;
+                    int columnRun = (bottomRuns[x] + 1) * open;
+                    bottomRuns[x] = columnRun;
+                    topOpen[x] &= open;
+                    topRuns[x] += topOpen[x];
+                    longest = Math.max(longest, Math.max(run, columnRun));
+                }
+                longestRun = longest;
+
+                // cells and the walls between them lie inside the outer wall
+                if (y > 0 && y < height - 1) {
+                    if (y % 2 == 1) {
+                        scanCellRow(above, row, below, width, wallIdentifier);
+                    } else {
+                        for (int x = 1; x < width - 1; x += 2) {
+                            if (row[x] != wallIdentifier) edgeCount++;
+                        }
+                    }
+                }
+
+                byte[] recycled = above;
+                above = row;
+                row = below;
+                below = recycled;
+            }
+        }
+
+        private void scanCellRow(byte[] above, byte[] row, byte[] below, int width, int wallIdentifier) {
+            // a closed cell is counted at degree 0 and taken out again below, which keeps the loop free of branches
+            int[] counts = new int[5];
+            int closed = 0;
+            long edges = 0;
+            for (int x = 1; x < width - 1; x += 2) {
+                int east = row[x + 1] == wallIdentifier ? 0 : 1;
+                int open = row[x] == wallIdentifier ? 0 : 1;
+                int degree = (row[x - 1] == wallIdentifier ? 0 : 1) + east
+                        + (above[x] == wallIdentifier ? 0 : 1) + (below[x] == wallIdentifier ? 0 : 1);
+                counts[degree * open]++;
+                closed += 1 - open;
+                edges += east;
+            }
+
+            // in a grid of odd width the wall east of the last cell is the outer wall
+            if (width % 2 == 1 && row[width - 1] != wallIdentifier) {
+                edges--;
+            }
+            for (int i = 0; i < counts.length; i++) {
+                degreeCounts[i] += counts[i];
+            }
+            degreeCounts[0] -= closed;
+            edgeCount += edges;
+        }
+
+        /**
+         * Appends the chunk right below this one, completing the runs that cross their border.
+         */
+        RowScan merge(RowScan lower) {
+            for (int i = 0; i < degreeCounts.length; i++) {
+                degreeCounts[i] += lower.degreeCounts[i];
+            }
+            edgeCount += lower.edgeCount;
+            longestRun = Math.max(longestRun, lower.longestRun);
+
+            for (int x = 0; x < topRuns.length; x++) {
+                longestRun = Math.max(longestRun, bottomRuns[x] + lower.topRuns[x]);
+                if (topRuns[x] == rows) {
+                    topRuns[x] += lower.topRuns[x];
+                }
+                bottomRuns[x] = lower.bottomRuns[x] == lower.rows ? bottomRuns[x] + lower.rows : lower.bottomRuns[x];
+            }
+            rows += lower.rows;
+            return this;
+        }
+    }
+}
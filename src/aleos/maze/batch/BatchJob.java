@@ -0,0 +1,152 @@
+package aleos.maze.batch;
+
+import aleos.maze.generator.GenerationAlgorithm;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Describes one batch of mazes: how many, of which sizes and algorithm, from which seed and where they go.
+ * <p>
+ * A job is written as {@code key=value} pairs separated by spaces, for example
+ * {@code count=1000 sizes=51,101 algorithm=kruskal seed=42 output=mazes.bin}. Every key is optional:
+ * <ul>
+ *     <li>{@code count} - the number of mazes, 100 by default</li>
+ *     <li>{@code sizes} - the sizes of the mazes, used in turn, 101 by default</li>
+ *     <li>{@code algorithm} - the generation algorithm, Prim's by default</li>
+ *     <li>{@code seed} - the seed the seeds of the mazes are drawn from, 0 by default</li>
+ *     <li>{@code solve} - whether the escape path is found and painted, true by default</li>
+ *     <li>{@code analyze} - whether the analytics of every maze are added to the report, false by default</li>
+ *     <li>{@code format} - {@code binary} or {@code text}, binary by default</li>
+ *     <li>{@code output} - the file the mazes are written to, they are discarded when it is missing</li>
+ *     <li>{@code concurrency} - the number of mazes in progress at once, the number of processors by default</li>
+ *     <li>{@code queue} - the number of finished mazes waiting for the writer, twice the concurrency by default</li>
+ * </ul>
+ */
+public class BatchJob {
+
+    private int count = 100;
+    private int[] sizes = {101};
+    private GenerationAlgorithm algorithm = GenerationAlgorithm.PRIM;
+    private long seed;
+    private boolean solve = true;
+    private boolean analyze;
+    private OutputFormat format = OutputFormat.BINARY;
+    private Path output;
+    private int concurrency = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = -1;
+
+    private BatchJob() {
+    }
+
+    /**
+     * Parses a job from its {@code key=value} pairs.
+     *
+     * @param spec the pairs describing the job
+     * @return the job
+     * @throws IllegalArgumentException if a pair is malformed or its key is unknown
+     */
+    public static BatchJob parse(String spec) {
+        BatchJob job = new BatchJob();
+        for (String pair : spec.trim().split("\\s+")) {
+            if (pair.isEmpty()) continue;
+
+            int separator = pair.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value: " + pair);
+            }
+            job.set(pair.substring(0, separator), pair.substring(separator + 1));
+        }
+
+        if (job.count < 0 || job.concurrency < 1) {
+            throw new IllegalArgumentException("The count must not be negative and the concurrency must be positive");
+        }
+        if (job.queueCapacity < 0) {
+            job.queueCapacity = 2 * job.concurrency;
+        }
+        return job;
+    }
+
+    private void set(String key, String value) {
+        switch (key) {
+            case "count" -> count = Integer.parseInt(value);
+            case "sizes", "size" -> sizes = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+            case "algorithm" -> algorithm = GenerationAlgorithm.getAlgorithm(value)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown algorithm: " + value));
+            case "seed" -> seed = Long.parseLong(value);
+            case "solve" -> solve = Boolean.parseBoolean(value);
+            case "analyze" -> analyze = Boolean.parseBoolean(value);
+            case "format" -> format = OutputFormat.getFormat(value)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown format: " + value));
+            case "output" -> output = Path.of(value);
+            case "concurrency" -> concurrency = Integer.parseInt(value);
+            case "queue" -> queueCapacity = Math.max(1, Integer.parseInt(value));
+            default -> throw new IllegalArgumentException("Unknown key: " + key);
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the size of the maze at the specified position of the job.
+     *
+     * @param index the position of the maze
+     * @return the size of the maze
+     */
+    public int getSize(int index) {
+        return sizes[index % sizes.length];
+    }
+
+    public GenerationAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isSolve() {
+        return solve;
+    }
+
+    public boolean isAnalyze() {
+        return analyze;
+    }
+
+    public OutputFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns the file the mazes are written to.
+     *
+     * @return the output file, or null if the mazes are discarded
+     */
+    public Path getOutput() {
+        return output;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchJob{" +
+                "count=" + count +
+                ", sizes=" + Arrays.toString(sizes) +
+                ", algorithm=" + algorithm +
+                ", seed=" + seed +
+                ", analyze=" + analyze +
+                ", format=" + format +
+                ", output=" + output +
+                ", concurrency=" + concurrency +
+                '}';
+    }
+}
@@ -0,0 +1,88 @@
+package aleos.maze.batch;
+
+import aleos.maze.analytics.MazeAnalytics;
+
+import java.util.Arrays;
+
+/**
+ * Holds the throughput and the latency distribution of a finished batch job, and the analytics of its mazes if the
+ * job asked for them.
+ */
+public class BatchReport {
+
+    private final int count;
+    private final long elapsedNanos;
+    private final long[] sortedLatencies;
+    private final MazeAnalytics[] analytics;
+
+    /**
+     * Creates a new report.
+     *
+     * @param elapsedNanos the wall-clock time of the whole job
+     * @param latencies    the time spent on every maze, from the start of its generation until it was encoded
+     * @param analytics    the analytics of every maze by its position in the job, or null if none were computed
+     */
+    BatchReport(long elapsedNanos, long[] latencies, MazeAnalytics[] analytics) {
+        this.count = latencies.length;
+        this.elapsedNanos = elapsedNanos;
+        this.sortedLatencies = latencies.clone();
+        Arrays.sort(sortedLatencies);
+        this.analytics = analytics == null ? null : analytics.clone();
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of mazes finished per second of wall-clock time.
+     *
+     * @return the throughput of the job
+     */
+    public double getMazesPerSecond() {
+        return elapsedNanos == 0 ? 0 : count * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns the latency that the specified share of mazes did not exceed, by the nearest-rank method.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the latency in nanoseconds, or 0 if the job had no mazes
+     */
+    public long getLatencyPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sortedLatencies[Math.max(0, Math.min(count, rank) - 1)];
+    }
+
+    /**
+     * Returns the analytics of the maze at the specified position of the job.
+     *
+     * @param index the position of the maze
+     * @return the analytics of the maze, or null if the job did not analyze its mazes
+     */
+    public MazeAnalytics getAnalytics(int index) {
+        return analytics == null ? null : analytics[index];
+    }
+
+    @Override
+    public String toString() {
+        String summary = String.format("%d mazes in %.2f s: %.1f mazes/s, p50 %.2f ms, p99 %.2f ms",
+                count, elapsedNanos / 1e9, getMazesPerSecond(),
+                getLatencyPercentile(50) / 1e6, getLatencyPercentile(99) / 1e6);
+        if (analytics == null || count == 0) {
+            return summary;
+        }
+
+        double deadEnds = Arrays.stream(analytics).mapToInt(MazeAnalytics::getDeadEndCount).average().orElse(0);
+        double tortuosity = Arrays.stream(analytics).mapToDouble(MazeAnalytics::getTortuosity)
+                .filter(value -> !Double.isNaN(value)).average().orElse(Double.NaN);
+        return summary + String.format(", mean %.1f dead ends, mean tortuosity %.2f", deadEnds, tortuosity);
+    }
+}
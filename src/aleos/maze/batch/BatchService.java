@@ -0,0 +1,159 @@
+package aleos.maze.batch;
+
+import aleos.maze.analytics.MazeAnalytics;
+import aleos.maze.concurrent.WorkerExecutors;
+import aleos.maze.general.Maze;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Generates, solves and writes the mazes of a {@link BatchJob} concurrently.
+ * <p>
+ * Every maze is an independent {@link Maze} seeded from a sequence drawn from the job seed, so a job produces the
+ * same mazes however its work is scheduled. At most {@code concurrency} mazes are in progress at once: the job
+ * waits for a permit before starting the next one. Finished mazes are encoded by the worker that made them and
+ * handed to a single writer thread through a bounded queue, so a slow destination blocks the workers instead of
+ * letting encoded mazes pile up in memory. Mazes are written in the order they finish.
+ * <p>
+ * Workers run on virtual threads when the runtime provides them and on a fixed pool of platform threads otherwise.
+ */
+public class BatchService {
+
+    /**
+     * The queue entry telling the writer that no more mazes will come.
+     */
+    private static final byte[] END_OF_JOB = new byte[0];
+
+    /**
+     * Runs a job, writing the mazes to the output file of the job if it has one.
+     *
+     * @param job the job to run
+     * @return the report of the job
+     * @throws IOException          if writing the mazes fails
+     * @throws InterruptedException if the thread is interrupted while waiting for the job
+     */
+    public BatchReport run(BatchJob job) throws IOException, InterruptedException {
+        if (job.getOutput() == null) {
+            return run(job, OutputStream.nullOutputStream());
+        }
+
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(job.getOutput()), 1 << 16)) {
+            return run(job, output);
+        }
+    }
+
+    /**
+     * Runs a job, writing the mazes to the specified stream.
+     *
+     * @param job    the job to run
+     * @param output the destination of the mazes, flushed but left open
+     * @return the report of the job
+     * @throws IOException          if writing the mazes fails
+     * @throws InterruptedException if the thread is interrupted while waiting for the job
+     */
+    public BatchReport run(BatchJob job, OutputStream output) throws IOException, InterruptedException {
+        BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(job.getQueueCapacity());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long[] latencies = new long[job.getCount()];
+        MazeAnalytics[] analytics = job.isAnalyze() ? new MazeAnalytics[job.getCount()] : null;
+
+        Thread writer = new Thread(() -> write(queue, output, failure), "maze-batch-writer");
+        writer.start();
+
+        Semaphore permits = new Semaphore(job.getConcurrency());
+        SplittableRandom seeds = new SplittableRandom(job.getSeed());
+        // the permits already bound the work, so a fallback pool of that size suffices
+        ExecutorService workers = WorkerExecutors.newExecutor(job.getConcurrency());
+        long start = System.nanoTime();
+
+        try {
+            for (int i = 0; i < job.getCount() && failure.get() == null; i++) {
+                int index = i;
+                long seed = seeds.nextLong();
+                permits.acquire();
+                workers.execute(() -> {
+                    try {
+                        long begin = System.nanoTime();
+                        byte[] encoded = produce(job, index, seed, analytics);
+                        latencies[index] = System.nanoTime() - begin;
+                        queue.put(encoded);
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            queue.put(END_OF_JOB);
+            writer.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Throwable cause = failure.get();
+        if (cause instanceof IOException e) {
+            throw e;
+        } else if (cause != null) {
+            throw new IllegalStateException("The batch job failed", cause);
+        }
+
+        return new BatchReport(elapsed, latencies, analytics);
+    }
+
+    private static byte[] produce(BatchJob job, int index, long seed, MazeAnalytics[] analytics)
+            throws IOException {
+        Maze maze = new Maze();
+        maze.generate(job.getSize(index), job.getAlgorithm(), seed);
+        if (analytics != null) {
+            // analyzed before painting, whose escape path then comes from the solution cache
+            analytics[index] = maze.analyze();
+        }
+        if (job.isSolve()) {
+            maze.displayEscapePath(maze.findEscapePath());
+        }
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        job.getFormat().write(maze, index, seed, encoded);
+        return encoded.toByteArray();
+    }
+
+    private static void write(BlockingQueue<byte[]> queue, OutputStream output, AtomicReference<Throwable> failure) {
+        try {
+            for (byte[] maze = queue.take(); maze != END_OF_JOB; maze = queue.take()) {
+                // after a failure the queue is still drained so that no worker stays blocked on it
+                if (failure.get() == null) {
+                    writeOrRecord(maze, output, failure);
+                }
+            }
+            if (failure.get() == null) {
+                output.flush();
+            }
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, e);
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private static void writeOrRecord(byte[] maze, OutputStream output, AtomicReference<Throwable> failure) {
+        try {
+            output.write(maze);
+        } catch (IOException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+}
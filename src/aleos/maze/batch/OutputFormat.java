@@ -0,0 +1,65 @@
+package aleos.maze.batch;
+
+import aleos.maze.general.Maze;
+import aleos.maze.general.MazeFile;
+import aleos.maze.general.Palette;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * The formats a batch job can write its mazes in.
+ */
+public enum OutputFormat {
+
+    /**
+     * The mazes as consecutive {@link MazeFile} records, readable one after another with {@link MazeFile#read}.
+     */
+    BINARY {
+        @Override
+        void write(Maze maze, int index, long seed, OutputStream output) throws IOException {
+            MazeFile.write(maze, output);
+        }
+    },
+
+    /**
+     * The mazes drawn as text with the escape path, each preceded by a line naming its index and seed.
+     */
+    TEXT {
+        @Override
+        void write(Maze maze, int index, long seed, OutputStream output) throws IOException {
+            output.write(("maze " + index + " seed " + seed + "\n").getBytes(StandardCharsets.UTF_8));
+            maze.render(output, Palette.UNICODE);
+            output.write('\n');
+        }
+    };
+
+    /**
+     * Encodes a maze of the batch.
+     *
+     * @param maze   the maze to write
+     * @param index  the position of the maze in the job
+     * @param seed   the seed the maze was generated from
+     * @param output the destination
+     * @throws IOException if writing fails
+     */
+    abstract void write(Maze maze, int index, long seed, OutputStream output) throws IOException;
+
+    /**
+     * Gets the format with the specified name, ignoring case.
+     *
+     * @param name the name of the format
+     * @return an Optional containing the format if found, otherwise an empty Optional
+     */
+    public static Optional<OutputFormat> getFormat(String name) {
+        String normalized = name.trim().toUpperCase();
+        for (OutputFormat format : values()) {
+            if (format.name().equals(normalized)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,89 @@
+package aleos.maze.benchmark;
+
+import aleos.maze.general.Maze;
+import aleos.maze.graph.Graph;
+import aleos.maze.grid.GridStorage;
+
+/**
+ * Prints the heap retained by the compact maze graph next to the equivalent object graph,
+ * followed by the heap retained by every grid backend.
+ * <p>
+ * Usage: {@code java aleos.maze.benchmark.GraphMemoryReport [size...]}
+ */
+public class GraphMemoryReport {
+
+    private static final int[] DEFAULT_SIZES = {101, 501, 1001, 2001};
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? DEFAULT_SIZES : parseSizes(args);
+
+        System.out.printf("%8s %16s %16s %16s %8s%n", "size", "nodes", "CompactGraph", "Graph", "ratio");
+        for (int size : sizes) {
+            Maze maze = new Maze();
+            maze.generate(size);
+
+            long compactBytes = maze.getGraph().estimateMemory();
+
+            long before = usedHeap();
+            Graph objectGraph = maze.buildGraph();
+            long graphBytes = usedHeap() - before;
+
+            System.out.printf("%8d %16d %16s %16s %7.1fx%n",
+                    size,
+                    maze.getGraph().getNodeCount(),
+                    formatBytes(compactBytes),
+                    formatBytes(graphBytes),
+                    (double) graphBytes / compactBytes);
+
+            // keep the object graph reachable until it has been measured
+            if (objectGraph.getNodes().isEmpty()) {
+                System.out.println("Empty graph");
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%8s", "size");
+        for (GridStorage storage : GridStorage.values()) {
+            System.out.printf(" %16s", storage);
+        }
+        System.out.println();
+        for (int size : sizes) {
+            System.out.printf("%8d", size);
+            for (GridStorage storage : GridStorage.values()) {
+                System.out.printf(" %16s", formatBytes(storage.create(size, size).estimateMemory()));
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Returns the heap in use after a best-effort garbage collection.
+     *
+     * @return the used heap in bytes
+     */
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    private static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+}
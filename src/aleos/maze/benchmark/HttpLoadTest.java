@@ -0,0 +1,108 @@
+package aleos.maze.benchmark;
+
+import aleos.maze.server.MazeServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fires many concurrent small-maze requests at a {@link MazeServer} and reports throughput and latencies.
+ * <p>
+ * Without a URL an in-process server is started on a free port of localhost. The client keeps at most
+ * {@code concurrency} requests in flight over persistent connections, every request asking for a maze of a new
+ * seed, so the server never answers from anything it has already made.
+ * <p>
+ * Usage: {@code java aleos.maze.benchmark.HttpLoadTest [requests] [concurrency] [size] [endpoint] [url]}, by
+ * default 20000 requests, 1000 in flight, size 25, {@code solve} and an in-process server.
+ */
+public class HttpLoadTest {
+
+    private static final int WARMUP_REQUESTS = 2000;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int size = args.length > 2 ? Integer.parseInt(args[2]) : 25;
+        String endpoint = args.length > 3 ? args[3] : "solve";
+
+        MazeServer server = null;
+        String url;
+        if (args.length > 4) {
+            url = args[4];
+        } else {
+            server = new MazeServer(new InetSocketAddress("localhost", 0), MazeServer.DEFAULT_MAX_SIZE,
+                    2 * Runtime.getRuntime().availableProcessors());
+            server.start();
+            url = "http://localhost:" + server.getPort();
+        }
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        try {
+            String target = url + "/" + endpoint + "?size=" + size + "&seed=";
+            run(client, target, Math.min(requests, WARMUP_REQUESTS), concurrency);
+
+            System.out.printf("%d requests to %s, %d in flight%n", requests, target + "<n>", concurrency);
+            System.out.println(run(client, target, requests, concurrency));
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static String run(HttpClient client, String target, int requests, int concurrency)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger failures = new AtomicInteger();
+        AtomicLong bytes = new AtomicLong();
+        long[] latencies = new long[requests];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            inFlight.acquire();
+            long begin = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(target + i)).build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+                latencies[index] = System.nanoTime() - begin;
+                if (error != null || response.statusCode() != 200) {
+                    failures.incrementAndGet();
+                } else {
+                    bytes.addAndGet(response.body().length);
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return String.format("%.2f s: %.0f requests/s, %.1f MB/s, %d failed, p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                elapsed / 1e9,
+                requests * 1e9 / elapsed,
+                bytes.get() * 1e3 / elapsed,
+                failures.get(),
+                percentile(latencies, 50) / 1e6,
+                percentile(latencies, 99) / 1e6,
+                latencies[requests - 1] / 1e6);
+    }
+
+    /**
+     * Returns the latency that the specified share of requests did not exceed, by the nearest-rank method.
+     */
+    private static long percentile(long[] sortedLatencies, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+        return sortedLatencies[Math.max(0, Math.min(sortedLatencies.length, rank) - 1)];
+    }
+}
@@ -0,0 +1,29 @@
+package aleos.maze.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executors running blocking work, one virtual thread per task when the runtime supports it.
+ */
+public final class WorkerExecutors {
+
+    private WorkerExecutors() {
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task, or a fixed pool of platform threads on runtimes
+     * without virtual threads.
+     *
+     * @param platformThreads the number of platform threads of the fallback pool
+     * @return the executor
+     */
+    public static ExecutorService newExecutor(int platformThreads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // virtual threads need JDK 21
+            return Executors.newFixedThreadPool(platformThreads);
+        }
+    }
+}
@@ -20,6 +20,17 @@ public class Cell implements Serializable, Comparable<Cell> {
         this.y = y;
     }
 
+    /**
+     * Returns the cell with the specified coordinates.
+     *
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @return the cell
+     */
+    public static Cell of(int x, int y) {
+        return new Cell(x, y);
+    }
+
     /**
      * Gets the x-coordinate of the cell.
      *
@@ -70,14 +81,16 @@ public class Cell implements Serializable, Comparable<Cell> {
 
     /**
      * Computes the hash code of this cell.
+     * <p>
+     * Both coordinates are packed into one long and spread by a multiplication with the golden ratio, so that the
+     * cells of a grid of any shape hash to well-spread values instead of colliding along the diagonals.
      *
      * @return the hash code of the cell
      */
     @Override
     public int hashCode() {
-        int result = x;
-        result = 31 * result + y;
-        return result;
+        long hash = (((long) x << 32) | (y & 0xffffffffL)) * 0x9e3779b97f4a7c15L;
+        return (int) (hash ^ (hash >>> 32));
     }
 
     @Override
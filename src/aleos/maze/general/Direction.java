@@ -25,7 +25,7 @@ public enum Direction {
      *
      * @return the x component of the direction
      */
-    int getX() {
+    public int getX() {
         return x;
     }
 
@@ -34,7 +34,25 @@ public enum Direction {
      *
      * @return the y component of the direction
      */
-    int getY() {
+    public int getY() {
         return y;
     }
+
+    /**
+     * Gets the direction pointing the opposite way.
+     *
+     * @return the opposite direction
+     */
+    public Direction opposite() {
+        return values()[(ordinal() + 2) % 4];
+    }
+
+    /**
+     * Gets the bit representing this direction in a wall mask.
+     *
+     * @return the mask bit of the direction
+     */
+    public int getMask() {
+        return 1 << ordinal();
+    }
 }
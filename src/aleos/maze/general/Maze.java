@@ -1,26 +1,102 @@
 package aleos.maze.general;
 
 
-import aleos.maze.graph.Node;
+import aleos.maze.analytics.MazeAnalytics;
+import aleos.maze.analytics.MazeAnalyzer;
+import aleos.maze.generator.GenerationAlgorithm;
+import aleos.maze.generator.MazeBraider;
+import aleos.maze.graph.CompactGraph;
 import aleos.maze.graph.Edge;
 import aleos.maze.graph.Graph;
-
+import aleos.maze.graph.GridCanvas;
+import aleos.maze.graph.GridGraph;
+import aleos.maze.graph.MazeCanvas;
+import aleos.maze.graph.MazeGraph;
+import aleos.maze.graph.Node;
+import aleos.maze.graph.Terrain;
+import aleos.maze.graph.WeightedGraph;
+import aleos.maze.metrics.Counter;
+import aleos.maze.metrics.MazeMetrics;
+import aleos.maze.metrics.MetricSpan;
+import aleos.maze.metrics.Phase;
+import aleos.maze.grid.GridStorage;
+import aleos.maze.grid.GridStore;
+import aleos.maze.solver.DynamicPathTree;
+import aleos.maze.solver.MazePath;
+import aleos.maze.solver.PathIndex;
+import aleos.maze.solver.PathResult;
+import aleos.maze.solver.SearchStrategy;
+import aleos.maze.solver.SolutionCache;
+import aleos.maze.solver.ShortestPathTree;
+import aleos.maze.solver.SolverEngine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 /**
  * Represents a maze and provides methods for maze generation, finding paths, and displaying the maze.
+ * <p>
+ * A maze shares no mutable state with other mazes, so independent mazes may be generated and solved on different
+ * threads at once. Every method synchronizes on the maze, which makes a single maze safe to share as well; the
+ * grid returned by {@link #getGrid()} is not guarded by that lock. Rendering holds the lock only to copy the grid and
+ * writes the copy after releasing it, so a slow destination does not block the other callers.
  */
 public class Maze implements Serializable {
     private int width;
     private int height;
 
-    private Graph graph;
-    private int[][] grid;
+    /**
+     * The compact graph of the maze, null until a caller asks for it. Generation carves the grid alone and the
+     * solvers walk its walls directly, so most mazes never build a graph.
+     */
+    private CompactGraph graph;
+
+    /**
+     * The index answering path queries between any two nodes, null until a caller asks for it.
+     */
+    private transient PathIndex pathIndex;
+
+    /**
+     * The cache of escape paths, which may be shared with other mazes.
+     */
+    private transient SolutionCache solutionCache = new SolutionCache();
+
+    /**
+     * The hash of the maze walls keying the solution cache, null until a path is cached.
+     */
+    private transient Long contentHash;
+
+    /**
+     * The shortest paths from the entrance kept up to date by wall edits, null until a caller asks for them.
+     */
+    private transient DynamicPathTree dynamicPathTree;
+
+    /**
+     * The cost of every grid position weighting the paths, or null if a path costs its length.
+     */
+    private Terrain terrain;
+
+    /**
+     * The canonical nodes and cells handed out by the object API, null until one is asked for.
+     */
+    private transient NodeRegistry nodeRegistry;
+    private GridStore grid;
     private Node entrance;
     private Node exit;
 
+    /**
+     * The algorithm the maze was generated with, or null if it is unknown.
+     */
+    private GenerationAlgorithm algorithm;
+
     /**
      * The thickness of the maze walls.
      */
@@ -29,56 +105,230 @@ public class Maze implements Serializable {
     /**
      * The identifier for passage cells in the maze grid.
      */
-    private static final int PASSAGE_CELL_IDENTIFIER = 0;
+    static final int PASSAGE_CELL_IDENTIFIER = 0;
 
     /**
      * The identifier for block cells (walls) in the maze grid.
      */
-    private static final int BLOCK_CELL_IDENTIFIER = 1;
+    static final int BLOCK_CELL_IDENTIFIER = 1;
 
     /**
      * The identifier for path cells in the maze grid.
      */
-    private static final int PATH_CELL_IDENTIFIER = 2;
+    static final int PATH_CELL_IDENTIFIER = 2;
+
+    /**
+     * The backend used to store the grid of newly generated mazes.
+     */
+    private GridStorage gridStorage = GridStorage.PACKED;
+
+    /**
+     * The engine used by {@link #findPaths()}.
+     */
+    private SolverEngine solverEngine = SolverEngine.BUCKET_QUEUE;
+
+    /**
+     * The strategy used by {@link #findEscape()}.
+     */
+    private SearchStrategy searchStrategy = SearchStrategy.A_STAR;
+
+    /**
+     * The algorithm used by {@link #generate(int)}.
+     */
+    private GenerationAlgorithm generationAlgorithm = GenerationAlgorithm.PRIM;
+
+    /**
+     * The algorithm of the generators expanding a seed into a maze. It is part of what a seed means: the same
+     * seed and size must give the same maze in every version that reads the saved seed.
+     */
+    private static final RandomGeneratorFactory<RandomGenerator> SEEDED_RANDOM =
+            RandomGeneratorFactory.of("L64X128MixRandom");
+
+    /**
+     * The seed the maze was generated from, or null if it was generated from an arbitrary generator.
+     */
+    private Long seed;
+
+    /**
+     * The generator drawing the seeds of mazes generated without an explicit one.
+     */
+    private transient RandomGenerator seedSource;
 
     /**
-     * The list of frontier nodes during maze generation.
+     * Creates an empty maze whose seeds are drawn from a randomly seeded generator.
      */
-    private transient List<Node> frontierNodes;
+    public Maze() {
+        this(SEEDED_RANDOM.create());
+    }
 
     /**
-     * The random number generator.
+     * Creates an empty maze whose seeds are drawn from the specified generator, so a generator seeded with
+     * the same value generates the same sequence of mazes.
+     *
+     * @param seedSource the generator of maze seeds
      */
-    private transient final Random randomGenerator = new Random();
+    public Maze(RandomGenerator seedSource) {
+        this.seedSource = seedSource;
+    }
 
+    /**
+     * Creates the generator that expands the specified seed into a maze.
+     *
+     * @param seed the seed of the maze
+     * @return a new generator
+     */
+    public static RandomGenerator newRandom(long seed) {
+        return SEEDED_RANDOM.create(seed);
+    }
 
     /**
-     * Generates a new maze of the specified size.
+     * Generates a new maze of the specified size from a new seed.
      *
      * @param size the size of the maze
      */
-    public void generate(int size) {
-        frontierNodes = new ArrayList<>();
-        graph = new Graph();
+    public synchronized void generate(int size) {
+        generate(size, generationAlgorithm);
+    }
 
-        if (size < 5) {
-            throw new IllegalArgumentException("Invalid maze dimensions: Width and height must be at least 5.");
-        }
+    /**
+     * Generates a new maze of the specified size with the specified algorithm from a new seed.
+     *
+     * @param size      the size of the maze
+     * @param algorithm the generation algorithm to use
+     */
+    public synchronized void generate(int size, GenerationAlgorithm algorithm) {
+        generate(size, algorithm, seedSource.nextLong());
+    }
+
+    /**
+     * Generates the maze of the specified size and seed; the same size and seed always give the same maze.
+     *
+     * @param size the size of the maze
+     * @param seed the seed of the maze
+     */
+    public synchronized void generate(int size, long seed) {
+        generate(size, generationAlgorithm, seed);
+    }
+
+    /**
+     * Generates the maze of the specified size, algorithm and seed; the same arguments always give the same maze.
+     *
+     * @param size      the size of the maze
+     * @param algorithm the generation algorithm to use
+     * @param seed      the seed of the maze
+     */
+    public synchronized void generate(int size, GenerationAlgorithm algorithm, long seed) {
+        generate(size, algorithm, newRandom(seed));
+        this.seed = seed;
+    }
+
+    /**
+     * Generates a new maze of the specified size and algorithm drawing every random choice from the specified
+     * generator. The maze has no seed, so its saves cannot be regenerated.
+     *
+     * @param size      the size of the maze
+     * @param algorithm the generation algorithm to use
+     * @param random    the random number generator, used by the calling thread only
+     */
+    public synchronized void generate(int size, GenerationAlgorithm algorithm, RandomGenerator random) {
+        generate(size, size, algorithm, random);
+    }
+
+    /**
+     * Generates a new maze of the specified width and height from a new seed.
+     *
+     * @param width  the width of the maze
+     * @param height the height of the maze
+     */
+    public synchronized void generate(int width, int height) {
+        generate(width, height, generationAlgorithm);
+    }
+
+    /**
+     * Generates a new maze of the specified width and height with the specified algorithm from a new seed.
+     *
+     * @param width     the width of the maze
+     * @param height    the height of the maze
+     * @param algorithm the generation algorithm to use
+     */
+    public synchronized void generate(int width, int height, GenerationAlgorithm algorithm) {
+        generate(width, height, algorithm, seedSource.nextLong());
+    }
+
+    /**
+     * Generates the maze of the specified width, height and seed; the same arguments always give the same maze.
+     *
+     * @param width  the width of the maze
+     * @param height the height of the maze
+     * @param seed   the seed of the maze
+     */
+    public synchronized void generate(int width, int height, long seed) {
+        generate(width, height, generationAlgorithm, seed);
+    }
 
-        size = size % 2 == 0 ? size + 1 : size;
+    /**
+     * Generates the maze of the specified width, height, algorithm and seed; the same arguments always give the
+     * same maze, and a square maze is the one {@link #generate(int, GenerationAlgorithm, long)} gives.
+     *
+     * @param width     the width of the maze
+     * @param height    the height of the maze
+     * @param algorithm the generation algorithm to use
+     * @param seed      the seed of the maze
+     */
+    public synchronized void generate(int width, int height, GenerationAlgorithm algorithm, long seed) {
+        generate(width, height, algorithm, newRandom(seed));
+        this.seed = seed;
+    }
 
-        this.width = size;
-        this.height = size;
-        grid = new int[width][height];
+    /**
+     * Generates a new maze of the specified width, height and algorithm drawing every random choice from the
+     * specified generator. The maze has no seed, so its saves cannot be regenerated.
+     * <p>
+     * Even dimensions are rounded up to the next odd number. The grid positions of the maze are addressed by
+     * {@code int} indices, so the maze may hold up to {@link Integer#MAX_VALUE} positions, e.g. 101 x 20,000,000;
+     * larger mazes can be streamed to a file with {@link aleos.maze.generator.StreamingGenerator}.
+     *
+     * @param width     the width of the maze
+     * @param height    the height of the maze
+     * @param algorithm the generation algorithm to use
+     * @param random    the random number generator, used by the calling thread only
+     * @throws IllegalArgumentException if a dimension is less than 5 or the maze has too many positions
+     */
+    public synchronized void generate(int width, int height, GenerationAlgorithm algorithm, RandomGenerator random) {
+        if (width < 5 || height < 5) {
+            throw new IllegalArgumentException("Invalid maze dimensions: Width and height must be at least 5.");
+        }
 
-        for (int[] row : grid) {
-            Arrays.fill(row, BLOCK_CELL_IDENTIFIER);
+        width = width % 2 == 0 ? width + 1 : width;
+        height = height % 2 == 0 ? height + 1 : height;
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid maze dimensions: " + width + " x " + height
+                    + " exceeds " + Integer.MAX_VALUE + " cells.");
         }
 
-        generateGraph();
-        displayGraphOnGrid();
-        createEntrances();
+        try (MetricSpan generation = MazeMetrics.begin(Phase.GENERATE)) {
+            this.width = width;
+            this.height = height;
+            invalidateSolutions();
+            graph = null;
+            pathIndex = null;
+            dynamicPathTree = null;
+            terrain = null;
+            nodeRegistry = null;
+            grid = gridStorage.create(width, height);
+            grid.fill(BLOCK_CELL_IDENTIFIER);
+
+            MazeCanvas canvas = new GridCanvas(grid, BLOCK_CELL_IDENTIFIER, PASSAGE_CELL_IDENTIFIER);
+            try (MetricSpan carving = MazeMetrics.begin(Phase.CARVE)) {
+                algorithm.getGenerator().generate(canvas, random);
+            }
+            this.algorithm = algorithm;
+            this.seed = null;
 
+            try (MetricSpan entrances = MazeMetrics.begin(Phase.CREATE_ENTRANCES)) {
+                createEntrances(canvas, random);
+            }
+        }
     }
 
     /**
@@ -86,125 +336,295 @@ public class Maze implements Serializable {
      *
      * @return a map of nodes and their respective previous nodes on the shortest paths
      */
-    public Map<Node, Node> findPaths() {
-        // Initialize a map to store the previous nodes on the shortest paths
-        Map<Node, Node> paths = new HashMap<>();
-
-        // Initialize a map to store the distances of each node from the entrance
-        Map<Node, Integer> distances = new HashMap<>();
-        graph.getNodes().forEach(node -> distances.put(node, Integer.MAX_VALUE));
-        distances.put(entrance, 0);
-
-        // Create a map of adjacency lists for efficient access to neighboring nodes
-        Map<Node, PriorityQueue<Edge>> adjacencyList = graph.getNodes().stream()
-                .collect(Collectors.toMap(
-                        node -> node,
-                        graph::getAdjacencyNodes
-                ));
-
-        // Create a priority queue to track the nodes being processed in order of their distances
-        PriorityQueue<Node> pq = new PriorityQueue<>(Comparator.comparingInt(distances::get));
-        pq.offer(entrance);
-
-        Node sourceNode;
-        while (!pq.isEmpty()) {
-            sourceNode = pq.poll();
-            PriorityQueue<Edge> edges = adjacencyList.get(sourceNode);
-            if (edges == null) continue;
-            for (Edge edge : edges) {
-                Node destNode = edge.getTargetNode();
-
-                int newDistance = distances.get(sourceNode) + edge.getEdgeWeight();
-                int minCurrentDistance = distances.get(destNode);
-                if (newDistance < minCurrentDistance) {
-                    distances.put(destNode, newDistance);
-                    pq.offer(destNode);
-                    paths.put(destNode, sourceNode);
-                }
+    public synchronized Map<Node, Node> findPaths() {
+        return findPaths(solverEngine);
+    }
 
-                adjacencyList.get(destNode).remove(destNode.getEdgeTo(sourceNode));
-                if (adjacencyList.get(destNode).isEmpty()) {
-                    adjacencyList.remove(destNode);
-                }
+    /**
+     * Finds the shortest paths from the entrance to all other nodes in the maze with the specified engine.
+     *
+     * @param engine the solver engine to use
+     * @return a map of nodes and their respective previous nodes on the shortest paths
+     */
+    public synchronized Map<Node, Node> findPaths(SolverEngine engine) {
+        ShortestPathTree tree = findPathTree(engine);
 
+        Map<Node, Node> paths = new HashMap<>();
+        for (int index = 0; index < tree.size(); index++) {
+            int parent = tree.getParent(index);
+            if (parent != ShortestPathTree.NO_PARENT) {
+                paths.put(nodeAt(index), nodeAt(parent));
             }
-            adjacencyList.remove(sourceNode);
         }
 
         return paths;
     }
 
     /**
-     * Generates the graph representation of the maze based on the seed and frontier nodes.
+     * Finds the shortest paths from the entrance to all other nodes in the maze as a tree of node indices.
+     *
+     * @return the tree of shortest paths rooted at the entrance
+     */
+    public synchronized ShortestPathTree findPathTree() {
+        return findPathTree(solverEngine);
+    }
+
+    /**
+     * Finds the shortest paths from the entrance to all other nodes in the maze with the specified engine.
+     *
+     * @param engine the solver engine to use
+     * @return the tree of shortest paths rooted at the entrance
      */
-    private void generateGraph() {
-        Node seed = generateInitialSeed();
-        graph.addNode(seed);
+    public synchronized ShortestPathTree findPathTree(SolverEngine engine) {
+        try (MetricSpan span = MazeMetrics.begin(Phase.SOLVE)) {
+            return engine.getSolver().solve(solverGraph(), indexOf(entrance));
+        }
+    }
 
-        do {
-            searchForFrontierNodes(seed);
-            seed = getNextSeed();
-        } while (!frontierNodes.isEmpty());
+    /**
+     * Finds the shortest path from the entrance to the exit, stopping as soon as the exit is reached.
+     *
+     * @return the escape path with the number of nodes expanded by the search
+     */
+    public synchronized PathResult findEscape() {
+        return findEscape(searchStrategy);
+    }
 
+    /**
+     * Finds the shortest path from the entrance to the exit with the specified strategy.
+     *
+     * @param strategy the search strategy to use
+     * @return the escape path with the number of nodes expanded by the search
+     */
+    public synchronized PathResult findEscape(SearchStrategy strategy) {
+        return findPath(entrance.getCoordinate(), exit.getCoordinate(), strategy);
     }
 
     /**
-     * Searches for frontier nodes adjacent to the given seed node and adds them to the graph.
+     * Finds the shortest path from the entrance to the exit as a run-length encoded path, whose length and turns
+     * are known without painting it. The path is taken from the solution cache when the same walls were solved
+     * before.
      *
-     * @param seed the seed node to search for frontier nodes
+     * @return the escape path, empty if the exit is unreachable
      */
-    private void searchForFrontierNodes(Node seed) {
-        int distance = 2;
-        for (Direction direction : Direction.values()) {
+    public synchronized MazePath findEscapePath() {
+        return findEscapePath(searchStrategy);
+    }
 
-            Cell shiftedCell = seed.getCoordinate().shift(direction, distance);
-            Node newFrontierNode = new Node(shiftedCell);
+    /**
+     * Finds the shortest path from the entrance to the exit with the specified strategy as a run-length encoded path.
+     * Every strategy finds a shortest path, as {@link #findPath(Cell, Cell, SearchStrategy)} replaces a strategy
+     * ignoring weights on a maze with a terrain, so a path cached by any of them is returned as is.
+     *
+     * @param strategy the search strategy to use
+     * @return the escape path, empty if the exit is unreachable
+     */
+    public synchronized MazePath findEscapePath(SearchStrategy strategy) {
+        int from = indexOf(entrance);
+        int to = indexOf(exit);
+        MazePath cached = solutionCache.get(contentHash(), from, to);
+        if (cached != null) {
+            return cached;
+        }
 
-            if (!graph.contains(newFrontierNode) && isValidNode(newFrontierNode)) {
+        MazePath path = MazePath.of(findEscape(strategy).getPath(), width);
+        solutionCache.put(contentHash(), from, to, path);
+        return path;
+    }
 
-                graph.addNode(newFrontierNode);
+    /**
+     * Finds the shortest path between two cells of the maze with the specified strategy. On a maze with a terrain
+     * a strategy that ignores edge weights would find the path with the fewest steps instead of the cheapest one,
+     * so {@link SearchStrategy#A_STAR} is used in its place.
+     *
+     * @param from     the start cell
+     * @param to       the target cell
+     * @param strategy the search strategy to use
+     * @return the path with the number of nodes expanded by the search
+     */
+    public synchronized PathResult findPath(Cell from, Cell to, SearchStrategy strategy) {
+        if (terrain != null && !strategy.isWeighted()) {
+            strategy = SearchStrategy.A_STAR;
+        }
+        try (MetricSpan span = MazeMetrics.begin(Phase.SEARCH)) {
+            PathResult result = strategy.getSolver().solve(solverGraph(), nodeIndexOf(from), nodeIndexOf(to));
+            MazeMetrics.record(Counter.EXPANDED_NODES, result.getExpandedNodes());
+            return result;
+        }
+    }
 
-                Edge edgeToSeed = new Edge(seed, distance);
-                newFrontierNode.addEdge(edgeToSeed);
-                graph.getAdjacencyNodes(newFrontierNode).offer(edgeToSeed);
+    /**
+     * Returns the length of the shortest path between two cells of the maze, answered from the path index.
+     *
+     * @param from the start cell
+     * @param to   the target cell
+     * @return the distance between the cells, or {@link ShortestPathTree#UNREACHABLE}
+     */
+    public synchronized int findDistance(Cell from, Cell to) {
+        return getPathIndex().getDistance(nodeIndexOf(from), nodeIndexOf(to));
+    }
 
-                Edge edgeToNewFrontierNode = new Edge(newFrontierNode, distance);
-                seed.addEdge(edgeToNewFrontierNode);
-                graph.getAdjacencyNodes(seed).offer(edgeToNewFrontierNode);
+    /**
+     * Returns the shortest path between two cells of the maze, answered from the path index.
+     *
+     * @param from the start cell
+     * @param to   the target cell
+     * @return the path from the start to the target, empty if the target is unreachable
+     */
+    public synchronized MazePath findShortestPath(Cell from, Cell to) {
+        return getPathIndex().getPath(nodeIndexOf(from), nodeIndexOf(to));
+    }
 
+    /**
+     * Computes the dead ends, corridors, junctions and loops of the maze in one scan over the rows of the grid,
+     * together with the length and tortuosity of the escape path. Large mazes are scanned in parallel.
+     *
+     * @return the analytics of the maze
+     */
+    public synchronized MazeAnalytics analyze() {
+        MazePath escapePath = findEscapePath();
+        try (MetricSpan span = MazeMetrics.begin(Phase.ANALYZE)) {
+            return MazeAnalyzer.analyze(grid, BLOCK_CELL_IDENTIFIER, entrance.getCoordinate(), exit.getCoordinate(),
+                    escapePath);
+        }
+    }
 
-                frontierNodes.add(newFrontierNode);
-            }
+    /**
+     * Returns the index answering distance and path queries between any two nodes, building it on first use.
+     * Building walks the whole maze once; the index may then be queried without holding the lock of the maze.
+     *
+     * @return the path index rooted at the entrance
+     * @throws IllegalArgumentException if the maze is not a perfect maze
+     */
+    public synchronized PathIndex getPathIndex() {
+        if (pathIndex == null) {
+            pathIndex = new PathIndex(solverGraph(), indexOf(entrance));
         }
+        return pathIndex;
     }
 
     /**
-     * Retrieves the next seed node from the list of frontier nodes.
+     * Returns the shortest paths from the entrance, solving them on first use. From then on every
+     * {@link #openWall(Cell, Cell)} and {@link #closeWall(Cell, Cell)} repairs the affected part of the paths
+     * instead of solving the maze again.
      *
-     * @return the next seed node
+     * @return the shortest paths kept up to date with the edits of the maze
      */
-    private Node getNextSeed() {
-        int index = 0;
-        if (frontierNodes.size() > 1) {
-            index = randomGenerator.nextInt(frontierNodes.size());
-            index = index % 2 == 0 ? index : index - 1;
+    public synchronized DynamicPathTree getDynamicPathTree() {
+        if (dynamicPathTree == null) {
+            dynamicPathTree = new DynamicPathTree(weighted(new GridGraph(grid, BLOCK_CELL_IDENTIFIER)), indexOf(entrance));
         }
+        return dynamicPathTree;
+    }
 
-        return frontierNodes.remove(index);
+    /**
+     * Opens the wall between two neighbouring cells of the maze.
+     * <p>
+     * The grid, the graph if it has been built, the content hash keying the solution cache and the dynamic path
+     * tree if one is kept are all updated in time independent of the size of the maze, apart from the repair of
+     * the paths. The path index is dropped, as the maze may no longer be a perfect maze, and so is the seed, which
+     * no longer reproduces the maze.
+     *
+     * @param first  a cell with odd coordinates
+     * @param second the cell two steps away from the first on the same row or column
+     * @return true if the wall was closed, false if it was already open
+     * @throws IllegalArgumentException if the cells are not neighbouring cells of the maze
+     */
+    public synchronized boolean openWall(Cell first, Cell second) {
+        return editWall(first, second, true);
     }
 
     /**
-     * Displays the graph representation on the maze grid.
+     * Closes the wall between two neighbouring cells of the maze, updating the maze like
+     * {@link #openWall(Cell, Cell)}.
+     *
+     * @param first  a cell with odd coordinates
+     * @param second the cell two steps away from the first on the same row or column
+     * @return true if the wall was open, false if it was already closed
+     * @throws IllegalArgumentException if the cells are not neighbouring cells of the maze
      */
-    private void displayGraphOnGrid() {
-        for (var node : graph.getNodes()) {
-            for (var edge : graph.getAdjacencyNodes(node)) {
+    public synchronized boolean closeWall(Cell first, Cell second) {
+        return editWall(first, second, false);
+    }
+
+    private boolean editWall(Cell first, Cell second, boolean open) {
+        int from = mazeCellIndexOf(first);
+        int to = mazeCellIndexOf(second);
+        if (Math.abs(first.getX() - second.getX()) + Math.abs(first.getY() - second.getY()) != 2
+                || first.getX() != second.getX() && first.getY() != second.getY()) {
+            throw new IllegalArgumentException("The cells are not neighbours: " + first + ", " + second);
+        }
+
+        int wallX = (first.getX() + second.getX()) / 2;
+        int wallY = (first.getY() + second.getY()) / 2;
+        if ((grid.get(wallX, wallY) != BLOCK_CELL_IDENTIFIER) == open) {
+            return false;
+        }
+
+        grid.set(wallX, wallY, open ? PASSAGE_CELL_IDENTIFIER : BLOCK_CELL_IDENTIFIER);
+        if (contentHash != null) {
+            contentHash ^= wallKey(wallY * width + wallX);
+        }
+        pathIndex = null;
+        seed = null;
+
+        if (graph != null) {
+            graph.split(from);
+            graph.split(to);
+            if (open) {
+                graph.connect(from, to);
+            } else {
+                graph.disconnect(from, to);
+            }
+        }
 
-                Cell fromCoordinate = node.getCoordinate();
-                Cell toCoordinate = edge.getTargetNode().getCoordinate();
-                pavePathBetweenCellsOnGridWithIdentifier(fromCoordinate, toCoordinate, PASSAGE_CELL_IDENTIFIER);
+        if (dynamicPathTree != null) {
+            if (open) {
+                dynamicPathTree.edgeAdded(from, to);
+            } else {
+                dynamicPathTree.edgeRemoved(from, to);
             }
         }
+        return true;
+    }
+
+    /**
+     * Returns the grid index of a cell of the maze proper, one with odd coordinates inside the outer wall.
+     */
+    private int mazeCellIndexOf(Cell cell) {
+        int x = cell.getX();
+        int y = cell.getY();
+        if (x < 1 || y < 1 || x > width - 2 || y > height - 2 || x % 2 == 0 || y % 2 == 0) {
+            throw new IllegalArgumentException("The cell is not a cell of the maze: " + cell);
+        }
+        return y * width + x;
+    }
+
+    /**
+     * Braids the maze: opens a wall at the specified share of its dead ends, turning them into loops. The same maze,
+     * share and seed always give the same braided maze.
+     *
+     * @param fraction the share of dead ends to remove, from 0 to 1
+     * @param seed     the seed choosing the dead ends and the walls to open
+     * @return the number of removed dead ends
+     * @see #braid(double, RandomGenerator)
+     */
+    public synchronized int braid(double fraction, long seed) {
+        return braid(fraction, newRandom(seed));
+    }
+
+    /**
+     * Braids the maze with {@link MazeBraider}: opens a wall at the specified share of its dead ends, turning them
+     * into loops. Every wall is opened like {@link #openWall(Cell, Cell)}, so the maze is no longer a perfect maze
+     * and loses its seed.
+     *
+     * @param fraction the share of dead ends to remove, from 0 to 1
+     * @param random   the random number generator
+     * @return the number of removed dead ends
+     */
+    public synchronized int braid(double fraction, RandomGenerator random) {
+        return MazeBraider.braid(grid, BLOCK_CELL_IDENTIFIER, fraction, random,
+                (from, to) -> editWall(cellAt(from), cellAt(to), true));
     }
 
     /**
@@ -213,127 +633,396 @@ public class Maze implements Serializable {
      * @param path the map of nodes and their respective previous nodes on the path
      * @param end  the end node of the path (exit)
      */
-    public void displayEscapePath(Map<Node, Node> path, Node end) {
-
-        if (!path.containsKey(end)) {
-            return;
+    public synchronized void displayEscapePath(Map<Node, Node> path, Node end) {
+        for (Node node = end, previous = path.get(node); previous != null; node = previous, previous = path.get(node)) {
+            pavePathBetweenCellsOnGridWithIdentifier(indexOf(node), indexOf(previous), PATH_CELL_IDENTIFIER);
         }
+    }
 
-        pavePathBetweenCellsOnGridWithIdentifier(end.getCoordinate(), path.get(end).getCoordinate(), PATH_CELL_IDENTIFIER);
+    /**
+     * Displays the path from the exit to the entrance on the maze grid.
+     *
+     * @param tree the tree of shortest paths rooted at the entrance
+     * @param end  the end node of the path (exit)
+     */
+    public synchronized void displayEscapePath(ShortestPathTree tree, Node end) {
+        displayEscapePath(MazePath.of(tree, indexOf(end), width));
+    }
 
-        displayEscapePath(path, path.get(end));
+    /**
+     * Displays a path found by a point-to-point search on the maze grid.
+     *
+     * @param result the path to display
+     */
+    public synchronized void displayEscapePath(PathResult result) {
+        displayEscapePath(MazePath.of(result.getPath(), width));
+    }
 
+    /**
+     * Displays a path on the maze grid, painting every straight segment at once.
+     *
+     * @param path the path to display
+     */
+    public synchronized void displayEscapePath(MazePath path) {
+        for (int i = 1; i < path.getCornerCount(); i++) {
+            pavePathBetweenCellsOnGridWithIdentifier(path.getCorner(i - 1), path.getCorner(i), PATH_CELL_IDENTIFIER);
+        }
     }
 
     /**
      * Finds and creates entrances at the already existed maze.
+     *
+     * @param canvas the canvas the maze was carved into
+     * @param random the random number generator
      */
-    private void createEntrances() {
-        Optional<Node> nodeAdjacentToWestBorder = graph.getNodes().stream()
-                .filter(n -> n.getCoordinate().getX() == WALL_THICKNESS)
-                .skip(randomGenerator.nextInt(width / 2))
-                .findAny();
-        Optional<Node> nodeAdjacentToEastBorder = graph.getNodes().stream()
-                .filter(n -> n.getCoordinate().getX() == width - WALL_THICKNESS - 1)
-                .skip(randomGenerator.nextInt(width / 4, width / 2))
-                .findAny();
-
-        if (nodeAdjacentToWestBorder.isEmpty() || nodeAdjacentToEastBorder.isEmpty()) {
+    private void createEntrances(MazeCanvas canvas, RandomGenerator random) {
+        int rowsOfNodes = (height - WALL_THICKNESS) / 2;
+        int westY = WALL_THICKNESS + 2 * random.nextInt(rowsOfNodes);
+        int eastY = WALL_THICKNESS + 2 * random.nextInt(rowsOfNodes);
+
+        int nodeAdjacentToWestBorder = canvas.index(WALL_THICKNESS, westY);
+        int nodeAdjacentToEastBorder = canvas.index(width - WALL_THICKNESS - 1, eastY);
+
+        if (!canvas.contains(nodeAdjacentToWestBorder) || !canvas.contains(nodeAdjacentToEastBorder)) {
             throw new IllegalStateException("Node can't be null");
         }
 
-        Cell entranceCoordinate = nodeAdjacentToWestBorder.get().getCoordinate().shift(Direction.WEST, 1);
-        entrance = new Node(entranceCoordinate);
-        bindNewNodeToGraph(entrance, nodeAdjacentToWestBorder.get());
+        // generation leaves the node registry alone, it is only filled by callers of the object API
+        entrance = new Node(new Cell(0, westY));
+        bindNewNodeToGraph(canvas, indexOf(entrance), nodeAdjacentToWestBorder);
 
-        Cell exitCoordinate = nodeAdjacentToEastBorder.get().getCoordinate().shift(Direction.EAST, 1);
-        exit = new Node(exitCoordinate);
-        bindNewNodeToGraph(exit, nodeAdjacentToEastBorder.get());
+        exit = new Node(new Cell(width - 1, eastY));
+        bindNewNodeToGraph(canvas, indexOf(exit), nodeAdjacentToEastBorder);
     }
 
     /**
-     * Binds a new node to the maze graph and creates a path between the new node and an existing node.
+     * Binds a new node to the maze and creates a path between the new node and an existing node.
      *
-     * @param newNode     the new node to add
-     * @param graphNode   the existing node to connect the new node to
+     * @param canvas      the canvas the maze was carved into
+     * @param newNode     the index of the new node to add
+     * @param graphNode   the index of the existing node to connect the new node to
      */
-    private void bindNewNodeToGraph(Node newNode, Node graphNode) {
-        pavePathBetweenCellsOnGridWithIdentifier(graphNode.getCoordinate(), newNode.getCoordinate(), PASSAGE_CELL_IDENTIFIER);
+    private void bindNewNodeToGraph(MazeCanvas canvas, int newNode, int graphNode) {
+        canvas.addNode(newNode);
+        canvas.connect(graphNode, newNode);
+    }
+
 
-        Edge edgeToNodeAdjacentToExit = new Edge(graphNode, 1);
-        Edge edgeToExit = new Edge(newNode, 1);
+    /**
+     * Paves a path between two cells on the maze grid with the specified identifier.
+     *
+     * @param from  the index of the starting cell
+     * @param to    the index of the ending cell
+     * @param value the identifier to use for the path cells
+     */
+    private void pavePathBetweenCellsOnGridWithIdentifier(int from, int to, int value) {
+        int x1 = from % width;
+        int y1 = from / width;
 
-        newNode.addEdge(edgeToNodeAdjacentToExit);
-        graphNode.addEdge(edgeToExit);
+        int x2 = to % width;
+        int y2 = to / width;
 
-        graph.addNode(newNode);
-        graph.getAdjacencyNodes(newNode).offer(edgeToNodeAdjacentToExit);
-        graph.getAdjacencyNodes(graphNode).offer(edgeToExit);
+        if (x1 == x2) {
+            grid.paintColumn(x1, Math.min(y1, y2), Math.max(y1, y2), value);
+        } else if (y1 == y2) {
+            grid.paintRow(y1, Math.min(x1, x2), Math.max(x1, x2), value);
+        }
     }
 
 
     /**
-     * Generates the initial seed (starting node) for maze generation.
+     * Returns the index of the node in the maze graph.
      *
-     * @return the initial seed node
+     * @param node the node
+     * @return the index of the node
      */
-    private Node generateInitialSeed() {
-        int shift = 2;
+    private int indexOf(Node node) {
+        return node.getCoordinate().getY() * width + node.getCoordinate().getX();
+    }
 
-        while (true) {
-            int x = randomGenerator.nextInt(width - shift) + WALL_THICKNESS;
-            int y = randomGenerator.nextInt(height - shift) + WALL_THICKNESS;
+    /**
+     * Returns the index of the node lying on the specified cell.
+     *
+     * @param cell the cell of the node
+     * @return the index of the node
+     * @throws IllegalArgumentException if no node of the maze lies on the cell
+     */
+    private int nodeIndexOf(Cell cell) {
+        MazeGraph mazeGraph = solverGraph();
+        if (!mazeGraph.isInside(cell.getX(), cell.getY()) || !mazeGraph.contains(mazeGraph.index(cell.getX(), cell.getY()))) {
+            throw new IllegalArgumentException("The cell is not a node of the maze: " + cell);
+        }
+        return mazeGraph.index(cell.getX(), cell.getY());
+    }
 
-            if (width % 2 == 1 && x % 2 != 1) {
-                continue;
-            }
+    /**
+     * Returns the cell at the specified index of the maze graph.
+     *
+     * @param index the index of the cell
+     * @return the cell
+     */
+    private Cell cellAt(int index) {
+        return nodes().cell(index);
+    }
+
+    /**
+     * Returns the node at the specified index of the maze graph.
+     *
+     * @param index the index of the node
+     * @return the node
+     */
+    private Node nodeAt(int index) {
+        return nodes().node(index);
+    }
+
+    /**
+     * Returns the registry of canonical nodes, creating it on first use.
+     */
+    private NodeRegistry nodes() {
+        if (nodeRegistry == null) {
+            nodeRegistry = new NodeRegistry(width, height);
+        }
+        return nodeRegistry;
+    }
 
-            if (height % 2 == 1 && y % 2 != 1) {
-                continue;
+    /**
+     * Builds the object graph equivalent to the compact maze graph.
+     *
+     * @return a new graph with a {@link Node} and {@link Edge} objects for every node and edge of the maze
+     */
+    public synchronized Graph buildGraph() {
+        CompactGraph mazeGraph = getGraph();
+        Graph objectGraph = new Graph();
+        Map<Integer, Node> nodes = new HashMap<>();
+        // the nodes get edges, so they are new nodes rather than the canonical ones
+        mazeGraph.forEachNode(index -> nodes.put(index, new Node(cellAt(index))));
+
+        nodes.forEach((index, node) -> {
+            objectGraph.addNode(node);
+            for (Direction direction : Direction.values()) {
+                int target = mazeGraph.getNeighbour(index, direction);
+                if (target != -1) {
+                    Edge edge = new Edge(nodes.get(target), mazeGraph.getEdgeWeight(index, target));
+                    node.addEdge(edge);
+                    objectGraph.getAdjacencyNodes(node).offer(edge);
+                }
             }
+        });
 
-            return new Node(new Cell(x, y));
+        return objectGraph;
+    }
+
+    /**
+     * Returns the compact graph of the maze, building it from the grid on first use. Once built, the solvers walk
+     * the graph instead of the grid.
+     *
+     * @return the maze graph
+     */
+    public synchronized CompactGraph getGraph() {
+        if (graph == null && grid != null) {
+            graph = buildGraphFromGrid();
         }
+        return graph;
     }
 
     /**
-     * Paves a path between two cells on the maze grid with the specified identifier.
+     * Returns the graph walked by the solvers: the compact graph if the maze has one, otherwise a view computed
+     * straight from the walls of the grid, weighted by the terrain if the maze has one.
      *
-     * @param from  the starting cell
-     * @param to    the ending cell
-     * @param value the identifier to use for the path cells
+     * @return the graph to solve on
      */
-    private void pavePathBetweenCellsOnGridWithIdentifier(Cell from, Cell to, int value) {
-        int x1 = from.getX();
-        int y1 = from.getY();
+    private MazeGraph solverGraph() {
+        return weighted(graph != null ? graph : new GridGraph(grid, BLOCK_CELL_IDENTIFIER));
+    }
 
-        int x2 = to.getX();
-        int y2 = to.getY();
+    /**
+     * Returns the specified graph weighted by the terrain of the maze, or the graph itself if the maze has none.
+     */
+    private MazeGraph weighted(MazeGraph mazeGraph) {
+        return terrain != null ? new WeightedGraph(mazeGraph, terrain) : mazeGraph;
+    }
 
-        if (x1 == x2) {
-            for (int i = Math.min(y1, y2); i <= Math.max(y1, y2); i++) {
-                grid[x1][i] = value;
+    /**
+     * Rebuilds the maze graph from the passages of the grid.
+     *
+     * @return the rebuilt graph
+     */
+    private CompactGraph buildGraphFromGrid() {
+        CompactGraph rebuilt = new CompactGraph(width, height);
+        byte[] row = new byte[width];
+        byte[] nextRow = new byte[width];
+
+        for (int y = WALL_THICKNESS; y < height - WALL_THICKNESS; y += 2) {
+            grid.readRow(y, row);
+            for (int x = WALL_THICKNESS; x < width - WALL_THICKNESS; x += 2) {
+                if (row[x] != BLOCK_CELL_IDENTIFIER) {
+                    rebuilt.addNode(rebuilt.index(x, y));
+                }
             }
-        } else if (y1 == y2) {
-            for (int i = Math.min(x1, x2); i <= Math.max(x1, x2); i++) {
-                grid[i][y1] = value;
+        }
+        rebuilt.addNode(indexOf(entrance));
+        rebuilt.addNode(indexOf(exit));
+
+        for (int y = WALL_THICKNESS; y < height - WALL_THICKNESS; y += 2) {
+            grid.readRow(y, row);
+            grid.readRow(y + 1, nextRow);
+            for (int x = 0; x < width - 1; x++) {
+                int index = rebuilt.index(x, y);
+                if (!rebuilt.contains(index)) continue;
+
+                if (row[x + 1] != BLOCK_CELL_IDENTIFIER) {
+                    rebuilt.connect(index, rebuilt.contains(index + 1) ? index + 1 : index + 2);
+                }
+                if (y + 2 < height && nextRow[x] != BLOCK_CELL_IDENTIFIER) {
+                    rebuilt.connect(index, index + 2 * width);
+                }
             }
         }
+
+        return rebuilt;
     }
 
+    /**
+     * Replaces this maze with one restored from its grid and entrances, the graph is rebuilt on first use.
+     *
+     * @param grid      the grid of the maze
+     * @param entrance  the entrance cell
+     * @param exit      the exit cell
+     * @param algorithm the algorithm the maze was generated with, or null if it is unknown
+     * @param seed      the seed the maze was generated from, or null if it is unknown
+     */
+    synchronized void restore(GridStore grid, Cell entrance, Cell exit, GenerationAlgorithm algorithm, Long seed) {
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.grid = grid;
+        invalidateSolutions();
+        this.graph = null;
+        this.pathIndex = null;
+        this.dynamicPathTree = null;
+        this.terrain = null;
+        this.nodeRegistry = null;
+        this.entrance = new Node(entrance);
+        this.exit = new Node(exit);
+        this.algorithm = algorithm;
+        this.seed = seed;
+    }
 
     /**
-     * Checks if a node is a valid candidate for maze generation.
+     * Returns the algorithm the maze was generated with.
      *
-     * @param node the node to check
-     * @return true if the node is valid, false otherwise
+     * @return the generation algorithm, or null if it is unknown
      */
-    private boolean isValidNode(Node node) {
-        Cell cell = node.getCoordinate();
-        if (frontierNodes.contains(cell)) {
-            return false;
+    public synchronized GenerationAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Returns the seed the maze was generated from.
+     *
+     * @return the seed, or an empty OptionalLong if the maze was generated from an arbitrary generator or loaded
+     * from a save without one
+     */
+    public synchronized OptionalLong getSeed() {
+        return seed == null ? OptionalLong.empty() : OptionalLong.of(seed);
+    }
+
+    /**
+     * Returns the cache of escape paths.
+     *
+     * @return the solution cache
+     */
+    public synchronized SolutionCache getSolutionCache() {
+        return solutionCache;
+    }
+
+    /**
+     * Sets the cache of escape paths, e.g. one shared by many mazes.
+     *
+     * @param solutionCache the solution cache
+     */
+    public synchronized void setSolutionCache(SolutionCache solutionCache) {
+        this.solutionCache = solutionCache;
+    }
+
+    /**
+     * Returns the terrain weighting the paths of the maze.
+     *
+     * @return the terrain, or null if a path costs its length
+     */
+    public synchronized Terrain getTerrain() {
+        return terrain;
+    }
+
+    /**
+     * Sets the terrain weighting the paths of the maze: from now on a path costs its length plus the surcharges of
+     * the positions it passes through, see {@link Terrain}. The terrain is dropped when another maze is generated or
+     * loaded and is not saved by {@link MazeFile}; set it again after changing its costs.
+     *
+     * @param terrain the terrain of the dimensions of the maze, or null to weigh paths by their length
+     * @throws IllegalArgumentException if the dimensions of the terrain differ from those of the maze
+     */
+    public synchronized void setTerrain(Terrain terrain) {
+        if (terrain != null && (terrain.getWidth() != width || terrain.getHeight() != height)) {
+            throw new IllegalArgumentException("The terrain does not match the dimensions of the maze");
         }
-        return cell.getX() >= WALL_THICKNESS && cell.getX() < width - WALL_THICKNESS && cell.getY() >= WALL_THICKNESS && cell.getY() < height - WALL_THICKNESS;
+        invalidateSolutions();
+        this.terrain = terrain;
+        this.pathIndex = null;
+        this.dynamicPathTree = null;
+    }
+
+    /**
+     * Returns the backend used to store the grid of newly generated mazes.
+     *
+     * @return the grid backend
+     */
+    synchronized GridStorage getGridStorage() {
+        return gridStorage;
+    }
+
+    /**
+     * Sets the backend used to store the grid of mazes generated from now on.
+     *
+     * @param gridStorage the grid backend
+     */
+    public synchronized void setGridStorage(GridStorage gridStorage) {
+        this.gridStorage = gridStorage;
+    }
+
+    /**
+     * Sets the algorithm used by {@link #generate(int)}.
+     *
+     * @param generationAlgorithm the generation algorithm
+     */
+    public synchronized void setGenerationAlgorithm(GenerationAlgorithm generationAlgorithm) {
+        this.generationAlgorithm = generationAlgorithm;
+    }
+
+    /**
+     * Sets the engine used by {@link #findPaths()}.
+     *
+     * @param solverEngine the solver engine
+     */
+    public synchronized void setSolverEngine(SolverEngine solverEngine) {
+        this.solverEngine = solverEngine;
+    }
+
+    /**
+     * Sets the strategy used by {@link #findEscape()}.
+     *
+     * @param searchStrategy the search strategy
+     */
+    public synchronized void setSearchStrategy(SearchStrategy searchStrategy) {
+        this.searchStrategy = searchStrategy;
+    }
+
+    /**
+     * Returns the grid of the maze.
+     *
+     * @return the maze grid
+     */
+    public synchronized GridStore getGrid() {
+        return grid;
     }
 
     /**
@@ -341,24 +1030,66 @@ public class Maze implements Serializable {
      *
      * @return true if the maze exists, false otherwise
      */
-    public boolean isExist() {
+    public synchronized boolean isExist() {
         return grid != null;
     }
 
     /**
      * Copies the properties of another Maze object to this maze.
+     * <p>
+     * The grid, the graph and the terrain are copied, so editing or painting either maze leaves the other one as it
+     * is. The copy keeps the seed, as it has the same walls, until its own walls are edited, and starts without
+     * cached solutions.
      *
      * @param maze the maze to copy from
      */
     public void copyOf(Maze maze) {
-        this.width = maze.width;
-        this.height = maze.height;
+        // the other maze is read under its own lock and never while holding this one, so two mazes copying
+        // each other cannot deadlock
+        Maze source = new Maze(seedSource);
+        synchronized (maze) {
+            source.width = maze.width;
+            source.height = maze.height;
+
+            // an empty maze has neither a grid nor entrances to copy
+            if (maze.grid != null) {
+                source.entrance = new Node(maze.entrance.getCoordinate());
+                source.exit = new Node(maze.exit.getCoordinate());
+                source.grid = maze.grid.copy();
+            }
+            source.graph = maze.graph == null ? null : maze.graph.copy();
+            source.terrain = maze.terrain == null ? null : maze.terrain.copy();
+            source.algorithm = maze.algorithm;
+            source.seed = maze.seed;
+        }
 
-        this.entrance = maze.entrance;
-        this.exit = maze.exit;
+        synchronized (this) {
+            invalidateSolutions();
+            this.width = source.width;
+            this.height = source.height;
+
+            this.entrance = source.entrance;
+            this.exit = source.exit;
+
+            this.grid = source.grid;
+            this.graph = source.graph;
+            this.pathIndex = null;
+            this.contentHash = null;
+            this.dynamicPathTree = null;
+            this.nodeRegistry = null;
+            this.terrain = source.terrain;
+            this.algorithm = source.algorithm;
+            this.seed = source.seed;
+        }
+    }
 
-        this.grid = maze.grid;
-        this.graph = maze.graph;
+    /**
+     * Returns the entrance node of the maze.
+     *
+     * @return the entrance node
+     */
+    public synchronized Node getEntrance() {
+        return entrance;
     }
 
     /**
@@ -366,7 +1097,7 @@ public class Maze implements Serializable {
      *
      * @return the exit node
      */
-    public Node getExit() {
+    public synchronized Node getExit() {
         return exit;
     }
 
@@ -377,26 +1108,113 @@ public class Maze implements Serializable {
      */
     @Override
     public String toString() {
-        StringBuilder result = new StringBuilder();
-        String wall = "██";
-        String passage = "  ";
-        String path = "//";
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                String sign = switch (grid[x][y]) {
-                    case BLOCK_CELL_IDENTIFIER -> wall;
-                    case PASSAGE_CELL_IDENTIFIER -> passage;
-                    case PATH_CELL_IDENTIFIER -> path;
-                    default -> "  ";
-                };
-
-                result.append(sign);
-            }
+        GridStore snapshot = snapshotGrid();
+        MazeRenderer renderer = new MazeRenderer(Palette.UNICODE);
+        long size = renderer.maxLineLength(snapshot.getWidth()) * snapshot.getHeight();
+        ByteArrayOutputStream result = new ByteArrayOutputStream((int) Math.min(size, Integer.MAX_VALUE - 8));
+
+        try {
+            renderer.render(snapshot, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return result.toString(StandardCharsets.UTF_8);
+    }
 
-            result.append('\n');
+    /**
+     * Writes the maze as text to the specified stream, drawn with the Unicode palette used by {@link #toString()}.
+     *
+     * @param output the destination, neither flushed nor closed
+     * @throws IOException if writing fails
+     */
+    public void render(OutputStream output) throws IOException {
+        render(output, Palette.UNICODE);
+    }
+
+    /**
+     * Writes the maze as text to the specified stream without building it in memory first.
+     * <p>
+     * The grid is copied under the lock of the maze and drawn after the lock is released, so a slow destination
+     * never blocks the other callers of the maze.
+     *
+     * @param output  the destination, neither flushed nor closed
+     * @param palette the signs to draw the cells with
+     * @throws IOException if writing fails
+     */
+    public void render(OutputStream output, Palette palette) throws IOException {
+        new MazeRenderer(palette).render(snapshotGrid(), output);
+    }
+
+    /**
+     * Returns a copy of the grid taken under the lock of the maze, which later changes of the maze do not affect.
+     */
+    private synchronized GridStore snapshotGrid() {
+        return grid.copy();
+    }
+
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        // the generator is not serialized, a deserialized maze must still be able to generate
+        seedSource = SEEDED_RANDOM.create();
+        solutionCache = new SolutionCache();
+    }
+
+    /**
+     * Returns the hash of the maze walls, computing it on first use.
+     * <p>
+     * Only walls and the terrain count, so painting a path does not change the hash. Every wall position and every
+     * position of the terrain not costing 1 contributes a key of 64 well-mixed bits and the keys are combined with
+     * XOR, which makes two different mazes sharing a hash vanishingly unlikely and lets an edit of one wall update
+     * the hash in constant time.
+     *
+     * @return the hash of the maze content
+     */
+    private long contentHash() {
+        if (contentHash == null) {
+            long hash = mix(((long) width << 32) + height);
+            byte[] row = new byte[width];
+            for (int y = 0; y < height; y++) {
+                grid.readRow(y, row);
+                for (int x = 0; x < width; x++) {
+                    int index = y * width + x;
+                    if (row[x] == BLOCK_CELL_IDENTIFIER) {
+                        hash ^= wallKey(index);
+                    }
+                    if (terrain != null && terrain.getCost(index) != 1) {
+                        hash ^= mix(wallKey(index) + terrain.getCost(index));
+                    }
+                }
+            }
+            contentHash = hash;
         }
+        return contentHash;
+    }
 
-        return result.toString();
+    /**
+     * Returns the contribution of a wall at the specified grid index to the content hash.
+     */
+    private static long wallKey(int index) {
+        // the offset keeps index 0, which mix maps to 0, from vanishing
+        return mix(index + 0x9e3779b97f4a7c15L);
+    }
+
+    /**
+     * Mixes the bits of a value so that every input bit affects every output bit (the finalizer of SplitMix64).
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Drops the cached paths of the current walls before the maze changes.
+     */
+    private void invalidateSolutions() {
+        if (contentHash != null) {
+            solutionCache.invalidate(contentHash);
+            contentHash = null;
+        }
     }
 }
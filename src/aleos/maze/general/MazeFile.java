@@ -0,0 +1,389 @@
+package aleos.maze.general;
+
+import aleos.maze.generator.GenerationAlgorithm;
+import aleos.maze.grid.GridStore;
+import aleos.maze.grid.MappedGridStore;
+import aleos.maze.metrics.MazeMetrics;
+import aleos.maze.metrics.MetricSpan;
+import aleos.maze.metrics.Phase;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalLong;
+
+/**
+ * Reads and writes mazes in a compact versioned binary format.
+ * <p>
+ * A file starts with a fixed header, all numbers big-endian:
+ * <pre>
+ * int   magic        "MAZE"
+ * short version
+ * byte  flags        {@link #FLAG_SEEDED} if the seed is meaningful, {@link #FLAG_REGENERATE} if the body is omitted
+ * byte  algorithm    file code of the {@link GenerationAlgorithm}, or 0xFF if unknown
+ * int   width, height
+ * int   entranceX, entranceY
+ * int   exitX, exitY
+ * long  seed
+ * </pre>
+ * followed by one bit per grid position in row-major order, set for walls and clear for passages. The escape
+ * path is not stored. A loaded maze keeps no graph, solvers walk the walls of its grid directly.
+ * <p>
+ * A seeded maze may instead be saved as its header alone, see {@link #saveSeed(Maze, Path)}. Loading such a file
+ * regenerates the maze from its dimensions, algorithm and seed.
+ */
+public final class MazeFile {
+
+    /**
+     * The first four bytes of every maze file, "MAZE" in ASCII.
+     */
+    static final int MAGIC = 0x4D415A45;
+
+    /**
+     * The latest version of the format. Version 2 added files without a body; files with a body are still
+     * written as version 1, so that older readers open them.
+     */
+    static final int VERSION = 2;
+
+    /**
+     * The version of files holding the grid.
+     */
+    private static final int VERSION_WITH_BODY = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    static final int HEADER_SIZE = 40;
+
+    /**
+     * The flag telling that the header holds the seed the maze was generated with.
+     */
+    static final int FLAG_SEEDED = 1;
+
+    /**
+     * The flag telling that the body is omitted and the maze must be regenerated from its seed.
+     */
+    static final int FLAG_REGENERATE = 2;
+
+    /**
+     * The algorithm byte of a maze generated with an unknown algorithm.
+     */
+    private static final int NO_ALGORITHM = 0xFF;
+
+    /**
+     * The number of body bytes encoded or decoded between stream calls.
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private MazeFile() {
+    }
+
+    /**
+     * Saves a maze to the specified file.
+     *
+     * @param maze the maze to save
+     * @param path the destination file
+     * @throws IOException if writing fails
+     */
+    public static void save(Maze maze, Path path) throws IOException {
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+            write(maze, output);
+        }
+    }
+
+    /**
+     * Saves a seeded maze as its header alone, a few dozen bytes whatever its size. Loading the file regenerates
+     * the maze, which takes as long as generating it did.
+     *
+     * @param maze the maze to save
+     * @param path the destination file
+     * @throws IOException              if writing fails
+     * @throws IllegalArgumentException if the maze has no seed or its algorithm is unknown
+     */
+    public static void saveSeed(Maze maze, Path path) throws IOException {
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(path))) {
+            writeSeed(maze, output);
+        }
+    }
+
+    /**
+     * Loads a maze from the specified file.
+     *
+     * @param path the file to read
+     * @return the loaded maze
+     * @throws IOException if reading fails or the file is not a maze file
+     */
+    public static Maze load(Path path) throws IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+            return read(input);
+        }
+    }
+
+    /**
+     * Writes a maze to the specified stream.
+     *
+     * @param maze   the maze to write
+     * @param output the destination stream, left open
+     * @throws IOException if writing fails
+     */
+    public static void write(Maze maze, OutputStream output) throws IOException {
+        try (MetricSpan span = MazeMetrics.begin(Phase.SAVE)) {
+            writeGrid(maze, output);
+        }
+    }
+
+    private static void writeGrid(Maze maze, OutputStream output) throws IOException {
+        GridStore grid = maze.getGrid();
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+
+        DataOutputStream data = new DataOutputStream(output);
+        writeHeader(maze, VERSION_WITH_BODY, 0, data);
+
+        byte[] row = new byte[width];
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int size = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int y = 0; y < height; y++) {
+            grid.readRow(y, row);
+            for (int x = 0; x < width; x++) {
+                bits |= (row[x] == Maze.BLOCK_CELL_IDENTIFIER ? 1 : 0) << bitCount;
+                if (++bitCount == Byte.SIZE) {
+                    chunk[size++] = (byte) bits;
+                    bits = 0;
+                    bitCount = 0;
+                    if (size == chunk.length) {
+                        data.write(chunk, 0, size);
+                        size = 0;
+                    }
+                }
+            }
+        }
+        if (bitCount > 0) {
+            chunk[size++] = (byte) bits;
+        }
+        data.write(chunk, 0, size);
+
+        data.flush();
+    }
+
+    /**
+     * Writes a seeded maze to the specified stream as its header alone.
+     *
+     * @param maze   the maze to write
+     * @param output the destination stream, left open
+     * @throws IOException              if writing fails
+     * @throws IllegalArgumentException if the maze has no seed or its algorithm is unknown
+     */
+    public static void writeSeed(Maze maze, OutputStream output) throws IOException {
+        if (maze.getSeed().isEmpty() || maze.getAlgorithm() == null) {
+            throw new IllegalArgumentException("Only a maze generated from a seed with a known algorithm can be regenerated");
+        }
+
+        try (MetricSpan span = MazeMetrics.begin(Phase.SAVE)) {
+            DataOutputStream data = new DataOutputStream(output);
+            writeHeader(maze, VERSION, FLAG_REGENERATE, data);
+            data.flush();
+        }
+    }
+
+    private static void writeHeader(Maze maze, int version, int flags, DataOutputStream data) throws IOException {
+        GridStore grid = maze.getGrid();
+        GenerationAlgorithm algorithm = maze.getAlgorithm();
+        OptionalLong seed = maze.getSeed();
+
+        data.writeInt(MAGIC);
+        data.writeShort(version);
+        data.writeByte(flags | (seed.isPresent() ? FLAG_SEEDED : 0));
+        data.writeByte(algorithm == null ? NO_ALGORITHM : algorithm.getFileCode());
+        data.writeInt(grid.getWidth());
+        data.writeInt(grid.getHeight());
+        data.writeInt(maze.getEntrance().getCoordinate().getX());
+        data.writeInt(maze.getEntrance().getCoordinate().getY());
+        data.writeInt(maze.getExit().getCoordinate().getX());
+        data.writeInt(maze.getExit().getCoordinate().getY());
+        data.writeLong(seed.orElse(0));
+    }
+
+    /**
+     * Reads a maze from the specified stream.
+     *
+     * @param input the source stream, left open
+     * @return the maze read
+     * @throws IOException if reading fails or the stream does not hold a maze
+     */
+    public static Maze read(InputStream input) throws IOException {
+        try (MetricSpan span = MazeMetrics.begin(Phase.LOAD)) {
+            return readMaze(input);
+        }
+    }
+
+    private static Maze readMaze(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(input);
+        Header header = Header.read(data);
+        if (header.isRegenerated()) {
+            return regenerate(header);
+        }
+
+        int width = header.width;
+        int height = header.height;
+
+        Maze maze = new Maze();
+        GridStore grid = maze.getGridStorage().create(width, height);
+
+        byte[] row = new byte[width];
+        byte[] chunk = new byte[CHUNK_SIZE];
+        long remaining = ((long) width * height + Byte.SIZE - 1) / Byte.SIZE;
+        int position = 0;
+        int size = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (bitCount == 0) {
+                    if (position == size) {
+                        size = (int) Math.min(chunk.length, remaining);
+                        data.readFully(chunk, 0, size);
+                        remaining -= size;
+                        position = 0;
+                    }
+                    bits = chunk[position++] & 0xFF;
+                    bitCount = Byte.SIZE;
+                }
+                row[x] = (byte) ((bits & 1) != 0 ? Maze.BLOCK_CELL_IDENTIFIER : Maze.PASSAGE_CELL_IDENTIFIER);
+                bits >>>= 1;
+                bitCount--;
+            }
+            grid.writeRow(y, row);
+        }
+
+        maze.restore(grid, header.entrance, header.exit, header.algorithm, header.seed);
+        return maze;
+    }
+
+    /**
+     * Opens a maze file without reading its body: the grid is served from a read-only memory mapping of the file.
+     * <p>
+     * Opening takes constant time whatever the size of the maze, and the maze may exceed the heap. Cells painted
+     * afterwards, such as the escape path, stay in memory and are not written to the file.
+     *
+     * @param path the file to map
+     * @return the mapped maze
+     * @throws IOException if reading the header or mapping fails
+     */
+    public static Maze map(Path path) throws IOException {
+        try (MetricSpan span = MazeMetrics.begin(Phase.LOAD)) {
+            return mapMaze(path);
+        }
+    }
+
+    private static Maze mapMaze(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer headerBytes = ByteBuffer.allocate(HEADER_SIZE);
+            while (headerBytes.hasRemaining()) {
+                if (channel.read(headerBytes) == -1) {
+                    throw new EOFException("Truncated maze file");
+                }
+            }
+
+            Header header = Header.read(new DataInputStream(new ByteArrayInputStream(headerBytes.array())));
+            if (header.isRegenerated()) {
+                return regenerate(header);
+            }
+
+            GridStore grid = MappedGridStore.map(channel, HEADER_SIZE, header.width, header.height,
+                    Maze.BLOCK_CELL_IDENTIFIER, Maze.PASSAGE_CELL_IDENTIFIER);
+
+            Maze maze = new Maze();
+            maze.restore(grid, header.entrance, header.exit, header.algorithm, header.seed);
+            return maze;
+        }
+    }
+
+    /**
+     * Regenerates the maze described by a header without a body.
+     *
+     * @param header the header of the maze
+     * @return the regenerated maze
+     * @throws IOException if the header cannot be regenerated or does not match the regenerated maze
+     */
+    private static Maze regenerate(Header header) throws IOException {
+        if (header.seed == null || header.algorithm == null) {
+            throw new IOException("The maze file holds neither a grid nor a seed to regenerate it from");
+        }
+
+        Maze maze = new Maze();
+        maze.generate(header.width, header.height, header.algorithm, header.seed);
+
+        Cell entrance = maze.getEntrance().getCoordinate();
+        Cell exit = maze.getExit().getCoordinate();
+        if (maze.getGrid().getWidth() != header.width || maze.getGrid().getHeight() != header.height
+                || !entrance.equals(header.entrance) || !exit.equals(header.exit)) {
+            throw new IOException("The seed does not reproduce the saved maze");
+        }
+        return maze;
+    }
+
+    /**
+     * The fixed-size header of a maze file.
+     */
+    private static final class Header {
+        private int width;
+        private int height;
+        private Cell entrance;
+        private Cell exit;
+        private GenerationAlgorithm algorithm;
+        private int flags;
+        private Long seed;
+
+        boolean isRegenerated() {
+            return (flags & FLAG_REGENERATE) != 0;
+        }
+
+        private boolean isOnOuterWall(Cell cell) {
+            int x = cell.getX();
+            int y = cell.getY();
+            boolean inside = x >= 0 && y >= 0 && x < width && y < height;
+            boolean onVerticalWall = (x == 0 || x == width - 1) && y > 0 && y < height - 1;
+            boolean onHorizontalWall = (y == 0 || y == height - 1) && x > 0 && x < width - 1;
+            return inside && (onVerticalWall || onHorizontalWall);
+        }
+
+        static Header read(DataInputStream data) throws IOException {
+            if (data.readInt() != MAGIC) {
+                throw new IOException("Not a maze file");
+            }
+            int version = data.readUnsignedShort();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported maze file version: " + version);
+            }
+            int flags = data.readUnsignedByte();
+            int algorithmCode = data.readUnsignedByte();
+
+            Header header = new Header();
+            header.flags = flags;
+            header.width = data.readInt();
+            header.height = data.readInt();
+            header.entrance = new Cell(data.readInt(), data.readInt());
+            header.exit = new Cell(data.readInt(), data.readInt());
+            long seed = data.readLong();
+            header.seed = (flags & FLAG_SEEDED) != 0 ? seed : null;
+
+            // the grid stores address every position with an int
+            if (header.width < 5 || header.height < 5 || (long) header.width * header.height > Integer.MAX_VALUE) {
+                throw new IOException("Invalid maze dimensions: " + header.width + "x" + header.height);
+            }
+            if (!header.isOnOuterWall(header.entrance) || !header.isOnOuterWall(header.exit)) {
+                throw new IOException("The entrance and the exit must lie on the outer wall: "
+                        + header.entrance + ", " + header.exit);
+            }
+
+            header.algorithm = GenerationAlgorithm.getAlgorithm(algorithmCode).orElse(null);
+            return header;
+        }
+    }
+}
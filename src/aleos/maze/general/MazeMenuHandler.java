@@ -1,9 +1,11 @@
 package aleos.maze.general;
 
-import aleos.maze.general.Maze;
+import aleos.maze.generator.GenerationAlgorithm;
 
-import java.io.*;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Scanner;
 
 /**
@@ -11,6 +13,16 @@ import java.util.Scanner;
  */
 public class MazeMenuHandler {
 
+    /**
+     * The file size above which saved mazes are memory-mapped instead of read onto the heap.
+     */
+    private static final long MAPPED_LOAD_THRESHOLD = 64L * 1024 * 1024;
+
+    /**
+     * The extension of saves holding only the seed of a maze.
+     */
+    private static final String SEED_FILE_SUFFIX = ".seed";
+
     private final Maze maze;
     private final Scanner scanner;
 
@@ -31,34 +43,72 @@ public class MazeMenuHandler {
             case SAVE -> saveMazeHandler();
             case DISPLAY -> displayMazeHandler();
             case FIND_PATH_TO_ESCAPE -> findPathMazeHandler();
+            case ANALYZE -> analyzeMazeHandler();
             case EXIT -> exitMazeHandler();
         }
     }
 
     private void findPathMazeHandler() {
-        var paths = maze.findPaths();
-        maze.displayEscapePath(paths, maze.getExit());
+        maze.displayEscapePath(maze.findEscapePath());
 
-        System.out.println(maze);
+        printMaze();
     }
 
 
     private void generateMazeHandler() {
         System.out.println("Enter the size of a new maze");
 
-        int size = Integer.parseInt(scanner.nextLine());
-        maze.generate(size);
+        // the size, or the width and height as in "31x101", may be followed by the name of a generation algorithm
+        // and a seed, e.g. "25 kruskal 42"
+        String[] input = scanner.nextLine().trim().split("\\s+");
+        String[] dimensions = input[0].toLowerCase().split("x", 2);
+        int width = Integer.parseInt(dimensions[0]);
+        int height = dimensions.length > 1 ? Integer.parseInt(dimensions[1]) : width;
+
+        GenerationAlgorithm algorithm = null;
+        Long seed = null;
+        for (int i = 1; i < input.length; i++) {
+            if (input[i].matches("-?\\d+")) {
+                seed = Long.parseLong(input[i]);
+                continue;
+            }
+
+            var named = GenerationAlgorithm.getAlgorithm(input[i]);
+            if (named.isEmpty()) {
+                System.out.println("Unknown algorithm. Available: " + Arrays.toString(GenerationAlgorithm.values()));
+                return;
+            }
+            algorithm = named.get();
+        }
+
+        if (algorithm == null && seed == null) {
+            maze.generate(width, height);
+        } else if (algorithm == null) {
+            maze.generate(width, height, seed);
+        } else if (seed == null) {
+            maze.generate(width, height, algorithm);
+        } else {
+            maze.generate(width, height, algorithm, seed);
+        }
 
-        System.out.println(maze);
+        printMaze();
     }
 
 
     private void saveMazeHandler() {
         Path path = Path.of(scanner.nextLine());
-        try (FileOutputStream fileOutput = new FileOutputStream(path.toFile());
-             ObjectOutputStream objectOutput = new ObjectOutputStream(fileOutput)) {
-
-            objectOutput.writeObject(maze);
+        try {
+
+            // a seeded maze saved as "*.seed" keeps only what is needed to regenerate it
+            boolean seedFile = path.toString().endsWith(SEED_FILE_SUFFIX);
+            if (seedFile && maze.getSeed().isPresent() && maze.getAlgorithm() != null) {
+                MazeFile.saveSeed(maze, path);
+            } else {
+                if (seedFile) {
+                    System.out.println("The maze cannot be regenerated from a seed, saving it as a full maze file.");
+                }
+                MazeFile.save(maze, path);
+            }
 
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -69,19 +119,40 @@ public class MazeMenuHandler {
     private void loadMazeHandler() {
         Path path = Path.of(scanner.nextLine());
 
-        try (FileInputStream fileInput = new FileInputStream(path.toFile());
-             ObjectInputStream objectInput = new ObjectInputStream(fileInput)) {
+        try {
 
-            maze.copyOf((Maze) objectInput.readObject());
+            // large files are mapped instead of read, so that they open instantly and may exceed the heap
+            if (Files.size(path) > MAPPED_LOAD_THRESHOLD) {
+                maze.copyOf(MazeFile.map(path));
+            } else {
+                maze.copyOf(MazeFile.load(path));
+            }
 
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
 
     }
 
+    private void analyzeMazeHandler() {
+        System.out.println(maze.analyze());
+    }
+
     private void displayMazeHandler() {
-        System.out.println(maze);
+        printMaze();
+    }
+
+    private void printMaze() {
+        try {
+
+            maze.render(System.out);
+
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        // the line feed println used to add after the last row
+        System.out.println();
     }
 
     private void exitMazeHandler() {
@@ -0,0 +1,110 @@
+package aleos.maze.general;
+
+import aleos.maze.grid.GridStore;
+import aleos.maze.metrics.Counter;
+import aleos.maze.metrics.MazeMetrics;
+import aleos.maze.metrics.MetricSpan;
+import aleos.maze.metrics.Phase;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the grid of a maze as UTF-8 text straight to an {@link OutputStream}.
+ * <p>
+ * Every row is decoded into one reused buffer of cell identifiers and rendered into one reused byte line. For every
+ * sign the renderer keeps a template row filled with that sign, so a run of identical cells, be it a single cell or
+ * a whole wall, is drawn with one array copy. A renderer keeps its buffers between calls and must not be shared
+ * between threads.
+ */
+public class MazeRenderer {
+
+    private final byte[][] signs;
+    private final int maxSignLength;
+
+    private byte[] row = new byte[0];
+    private byte[] line = new byte[0];
+
+    /**
+     * The rows filled with the sign of every cell identifier, sized for the widest grid rendered so far.
+     */
+    private byte[][] runs = new byte[0][];
+
+    /**
+     * Creates a renderer drawing with the specified palette.
+     *
+     * @param palette the signs to draw the cells with
+     */
+    public MazeRenderer(Palette palette) {
+        this.signs = palette.signsByIdentifier();
+        int max = 0;
+        for (byte[] sign : signs) {
+            max = Math.max(max, sign.length);
+        }
+        this.maxSignLength = max;
+    }
+
+    /**
+     * Writes every row of the grid followed by a line feed.
+     *
+     * @param grid   the grid to render
+     * @param output the destination, neither flushed nor closed
+     * @throws IOException if writing fails
+     */
+    public void render(GridStore grid, OutputStream output) throws IOException {
+        int width = grid.getWidth();
+        if (row.length < width) {
+            allocate(width);
+        }
+
+        try (MetricSpan span = MazeMetrics.begin(Phase.RENDER)) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                grid.readRow(y, row);
+                output.write(line, 0, renderRow(width));
+            }
+            MazeMetrics.record(Counter.RENDERED_CELLS, (long) width * grid.getHeight());
+        }
+    }
+
+    /**
+     * Returns the largest number of bytes a row of the specified width renders to, including the line feed.
+     *
+     * @param width the width of the grid
+     * @return the maximal length of a rendered row
+     */
+    public long maxLineLength(int width) {
+        return (long) width * maxSignLength + 1;
+    }
+
+    private void allocate(int width) {
+        row = new byte[width];
+        line = new byte[Math.toIntExact(maxLineLength(width))];
+        runs = new byte[signs.length][];
+        for (int identifier = 0; identifier < signs.length; identifier++) {
+            byte[] sign = signs[identifier];
+            runs[identifier] = new byte[width * sign.length];
+            for (int position = 0; position < runs[identifier].length; position += sign.length) {
+                System.arraycopy(sign, 0, runs[identifier], position, sign.length);
+            }
+        }
+    }
+
+    private int renderRow(int width) {
+        int position = 0;
+        for (int x = 0; x < width; ) {
+            int identifier = row[x] & 3;
+            int end = x + 1;
+            while (end < width && row[end] == row[x]) {
+                end++;
+            }
+
+            int runLength = signs[identifier].length * (end - x);
+            System.arraycopy(runs[identifier], 0, line, position, runLength);
+
+            position += runLength;
+            x = end;
+        }
+        line[position++] = '\n';
+        return position;
+    }
+}
@@ -0,0 +1,67 @@
+package aleos.maze.general;
+
+import aleos.maze.graph.Node;
+
+/**
+ * Hands out one canonical {@link Node}, with its {@link Cell}, for every grid position of a maze.
+ * <p>
+ * The object API of the maze returns nodes and cells, while everything behind it works on grid indices. Instead of
+ * allocating a node and a cell every time an index crosses that boundary, the registry creates them on the first
+ * request and returns the same instances from then on. Nodes are kept in pages of {@value #PAGE_SIZE} positions,
+ * allocated when a position of the page is first asked for, so positions never asked for cost nothing.
+ * <p>
+ * Canonical nodes never get edges; graphs holding edges, such as {@link Maze#buildGraph()}, make nodes of their own.
+ */
+final class NodeRegistry {
+
+    private static final int PAGE_BITS = 12;
+
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final int width;
+    private final Node[][] pages;
+
+    /**
+     * Creates an empty registry for a grid of the specified dimensions.
+     *
+     * @param width  the width of the grid
+     * @param height the height of the grid
+     */
+    NodeRegistry(int width, int height) {
+        this.width = width;
+        this.pages = new Node[(int) (((long) width * height + PAGE_MASK) >>> PAGE_BITS)][];
+    }
+
+    /**
+     * Returns the node of the specified grid position, creating it on first use.
+     *
+     * @param index the index {@code y * width + x} of the position
+     * @return the canonical node of the position
+     */
+    Node node(int index) {
+        Node[] page = pages[index >>> PAGE_BITS];
+        if (page == null) {
+            page = new Node[PAGE_SIZE];
+            pages[index >>> PAGE_BITS] = page;
+        }
+
+        Node node = page[index & PAGE_MASK];
+        if (node == null) {
+            node = new Node(new Cell(index % width, index / width));
+            page[index & PAGE_MASK] = node;
+        }
+        return node;
+    }
+
+    /**
+     * Returns the cell of the specified grid position, creating it on first use.
+     *
+     * @param index the index {@code y * width + x} of the position
+     * @return the canonical cell of the position
+     */
+    Cell cell(int index) {
+        return node(index).getCoordinate();
+    }
+}
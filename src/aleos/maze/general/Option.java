@@ -9,7 +9,8 @@ enum Option {
     LOAD("Load a maze."),
     SAVE("Save the maze."),
     DISPLAY("Display the maze."),
-    FIND_PATH_TO_ESCAPE("Find the escape.");
+    FIND_PATH_TO_ESCAPE("Find the escape."),
+    ANALYZE("Analyze the maze.");
 
     private final String prompt;
 
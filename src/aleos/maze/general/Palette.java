@@ -0,0 +1,70 @@
+package aleos.maze.general;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents the signs a maze is drawn with, kept pre-encoded in UTF-8 so rendering never encodes a character.
+ */
+public enum Palette {
+
+    UNICODE("██", "  ", "//"),
+    ASCII("##", "  ", "//"),
+    COMPACT("█", " ", "/");
+
+    private final byte[] wall;
+    private final byte[] passage;
+    private final byte[] path;
+
+    /**
+     * Creates a new palette with the specified signs.
+     *
+     * @param wall    the sign of a wall cell
+     * @param passage the sign of a passage cell
+     * @param path    the sign of a cell on the escape path
+     */
+    Palette(String wall, String passage, String path) {
+        this.wall = wall.getBytes(StandardCharsets.UTF_8);
+        this.passage = passage.getBytes(StandardCharsets.UTF_8);
+        this.path = path.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the UTF-8 encoded sign of a wall cell.
+     *
+     * @return a copy of the encoded sign
+     */
+    public byte[] getWallBytes() {
+        return wall.clone();
+    }
+
+    /**
+     * Gets the UTF-8 encoded sign of a passage cell.
+     *
+     * @return a copy of the encoded sign
+     */
+    public byte[] getPassageBytes() {
+        return passage.clone();
+    }
+
+    /**
+     * Gets the UTF-8 encoded sign of a cell on the escape path.
+     *
+     * @return a copy of the encoded sign
+     */
+    public byte[] getPathBytes() {
+        return path.clone();
+    }
+
+    /**
+     * Returns the encoded signs indexed by cell identifier, unknown identifiers are drawn as passages.
+     *
+     * @return the signs of every two-bit cell identifier
+     */
+    byte[][] signsByIdentifier() {
+        byte[][] signs = {passage, passage, passage, passage};
+        signs[Maze.PASSAGE_CELL_IDENTIFIER] = passage;
+        signs[Maze.BLOCK_CELL_IDENTIFIER] = wall;
+        signs[Maze.PATH_CELL_IDENTIFIER] = path;
+        return signs;
+    }
+}
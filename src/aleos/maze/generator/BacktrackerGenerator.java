@@ -0,0 +1,59 @@
+package aleos.maze.generator;
+
+import aleos.maze.graph.MazeCanvas;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with an iterative randomized depth-first search (recursive backtracker).
+ * <p>
+ * The walk keeps extending the current corridor to a random unvisited neighbour and backtracks along an explicit
+ * {@code int[]} stack when it gets stuck, which produces long winding corridors with few dead ends.
+ */
+public class BacktrackerGenerator implements MazeGenerator {
+
+    @Override
+    public void generate(MazeCanvas canvas, RandomGenerator random) {
+        CellGrid cells = new CellGrid(canvas);
+        int columns = cells.getColumns();
+
+        int[] stack = new int[64];
+        int size = 0;
+        int[] candidates = new int[4];
+
+        int start = random.nextInt(cells.getCellCount());
+        cells.add(start);
+        stack[size++] = start;
+
+        while (size > 0) {
+            int cell = stack[size - 1];
+            int column = cell % columns;
+            int row = cell / columns;
+
+            int count = 0;
+            if (row > 0 && isUnvisited(cells, canvas, cell - columns)) candidates[count++] = cell - columns;
+            if (column < columns - 1 && isUnvisited(cells, canvas, cell + 1)) candidates[count++] = cell + 1;
+            if (row < cells.getRows() - 1 && isUnvisited(cells, canvas, cell + columns)) candidates[count++] = cell + columns;
+            if (column > 0 && isUnvisited(cells, canvas, cell - 1)) candidates[count++] = cell - 1;
+
+            if (count == 0) {
+                size--;
+                continue;
+            }
+
+            int next = candidates[random.nextInt(count)];
+            cells.add(next);
+            cells.connect(cell, next);
+
+            if (size == stack.length) {
+                stack = Arrays.copyOf(stack, size * 2);
+            }
+            stack[size++] = next;
+        }
+    }
+
+    private static boolean isUnvisited(CellGrid cells, MazeCanvas canvas, int cell) {
+        return !canvas.contains(cells.node(cell));
+    }
+}
@@ -0,0 +1,32 @@
+package aleos.maze.generator;
+
+import aleos.maze.graph.MazeCanvas;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with the binary tree algorithm.
+ * <p>
+ * Every cell opens either its north or its west wall, so the maze is carved in a single pass without any extra
+ * memory. The result is strongly biased: the top row and the left column are straight corridors.
+ */
+public class BinaryTreeGenerator implements MazeGenerator {
+
+    @Override
+    public void generate(MazeCanvas canvas, RandomGenerator random) {
+        CellGrid cells = new CellGrid(canvas);
+        int columns = cells.getColumns();
+        cells.addAll();
+
+        for (int cell = 1; cell < cells.getCellCount(); cell++) {
+            boolean canGoNorth = cell >= columns;
+            boolean canGoWest = cell % columns > 0;
+
+            if (canGoNorth && (!canGoWest || random.nextBoolean())) {
+                cells.connect(cell, cell - columns);
+            } else {
+                cells.connect(cell, cell - 1);
+            }
+        }
+    }
+}
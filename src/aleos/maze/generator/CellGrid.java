@@ -0,0 +1,83 @@
+package aleos.maze.generator;
+
+import aleos.maze.graph.MazeCanvas;
+
+/**
+ * Addresses the cells of a maze canvas by column and row.
+ * <p>
+ * Cell {@code (column, row)} lies on the grid position {@code (2 * column + 1, 2 * row + 1)}, and cell ids
+ * {@code row * columns + column} let generators keep their bookkeeping in flat primitive arrays.
+ */
+final class CellGrid {
+
+    private final MazeCanvas canvas;
+    private final int columns;
+    private final int rows;
+
+    CellGrid(MazeCanvas canvas) {
+        this.canvas = canvas;
+        this.columns = (canvas.getWidth() - 1) / 2;
+        this.rows = (canvas.getHeight() - 1) / 2;
+    }
+
+    int getColumns() {
+        return columns;
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    int getCellCount() {
+        return columns * rows;
+    }
+
+    /**
+     * Returns the canvas index of the specified cell.
+     *
+     * @param column the column of the cell
+     * @param row    the row of the cell
+     * @return the index of the cell on the canvas
+     */
+    int node(int column, int row) {
+        return canvas.index(2 * column + 1, 2 * row + 1);
+    }
+
+    /**
+     * Returns the canvas index of the cell with the specified id.
+     *
+     * @param cell the id of the cell
+     * @return the index of the cell on the canvas
+     */
+    int node(int cell) {
+        return node(cell % columns, cell / columns);
+    }
+
+    /**
+     * Adds the specified cell to the canvas.
+     *
+     * @param cell the id of the cell
+     */
+    void add(int cell) {
+        canvas.addNode(node(cell));
+    }
+
+    /**
+     * Adds every cell of the grid to the canvas.
+     */
+    void addAll() {
+        for (int cell = 0; cell < getCellCount(); cell++) {
+            add(cell);
+        }
+    }
+
+    /**
+     * Opens the wall between two neighbouring cells.
+     *
+     * @param cell  the id of the first cell
+     * @param other the id of the second cell
+     */
+    void connect(int cell, int other) {
+        canvas.connect(node(cell), node(other));
+    }
+}
@@ -0,0 +1,188 @@
+package aleos.maze.generator;
+
+import aleos.maze.graph.MazeCanvas;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with Eller's algorithm.
+ * <p>
+ * The maze is carved one row at a time and only the set membership of the current row is remembered, so the
+ * state takes O(width) memory no matter how many rows are produced. {@link RowCarver} exposes the row-by-row
+ * process on its own for callers that never hold the whole maze.
+ */
+public class EllerGenerator implements MazeGenerator {
+
+    @Override
+    public void generate(MazeCanvas canvas, RandomGenerator random) {
+        CellGrid cells = new CellGrid(canvas);
+        int columns = cells.getColumns();
+        int rows = cells.getRows();
+        cells.addAll();
+
+        RowCarver carver = new RowCarver(columns, random);
+        boolean[] eastOpen = new boolean[columns];
+        boolean[] southOpen = new boolean[columns];
+
+        for (int row = 0; row < rows; row++) {
+            carver.carveRow(row == rows - 1, eastOpen, southOpen);
+
+            int rowStart = row * columns;
+            for (int column = 0; column < columns; column++) {
+                int cell = rowStart + column;
+                if (eastOpen[column]) cells.connect(cell, cell + 1);
+                if (southOpen[column]) cells.connect(cell, cell + columns);
+            }
+        }
+    }
+
+    /**
+     * Carves the rows of an Eller's maze one after another.
+     * <p>
+     * Cells are labelled with the set they belong to. Labels are recycled between rows, so they never exceed the
+     * number of columns and every per-row pass works on arrays of that size.
+     */
+    public static class RowCarver {
+
+        /**
+         * The label of a cell that does not belong to any set yet.
+         */
+        private static final int NO_SET = 0;
+
+        private final int columns;
+        private final RandomGenerator random;
+
+        private final int[] sets;
+        private final int[] parents;
+        private final int[] members;
+        private final int[] chosen;
+        private final boolean[] hasPassageSouth;
+        private final boolean[] used;
+
+        /**
+         * Creates a carver for rows of the specified number of cells.
+         *
+         * @param columns the number of cells in a row
+         * @param random  the random number generator
+         */
+        public RowCarver(int columns, RandomGenerator random) {
+            this.columns = columns;
+            this.random = random;
+            this.sets = new int[columns];
+            this.parents = new int[columns + 1];
+            this.members = new int[columns + 1];
+            this.chosen = new int[columns + 1];
+            this.hasPassageSouth = new boolean[columns + 1];
+            this.used = new boolean[columns + 1];
+        }
+
+        /**
+         * Carves the next row.
+         *
+         * @param lastRow   true if the row is the last one, which joins every remaining set and opens nothing south
+         * @param eastOpen  receives for every cell whether its east wall is open
+         * @param southOpen receives for every cell whether its south wall is open
+         */
+        public void carveRow(boolean lastRow, boolean[] eastOpen, boolean[] southOpen) {
+            assignNewSets();
+
+            for (int column = 0; column < columns; column++) {
+                parents[sets[column]] = sets[column];
+            }
+
+            for (int column = 0; column < columns - 1; column++) {
+                int set = find(sets[column]);
+                int nextSet = find(sets[column + 1]);
+                eastOpen[column] = set != nextSet && (lastRow || random.nextBoolean());
+                if (eastOpen[column]) {
+                    parents[nextSet] = set;
+                }
+            }
+            eastOpen[columns - 1] = false;
+
+            for (int column = 0; column < columns; column++) {
+                sets[column] = find(sets[column]);
+            }
+
+            if (lastRow) {
+                for (int column = 0; column < columns; column++) {
+                    southOpen[column] = false;
+                }
+                return;
+            }
+
+            carveSouth(southOpen);
+        }
+
+        /**
+         * Opens random passages south, at least one per set, and drops the cells left without a passage from their
+         * sets.
+         *
+         * @param southOpen receives for every cell whether its south wall is open
+         */
+        private void carveSouth(boolean[] southOpen) {
+            for (int column = 0; column < columns; column++) {
+                int set = sets[column];
+                members[set] = 0;
+                hasPassageSouth[set] = false;
+            }
+
+            for (int column = 0; column < columns; column++) {
+                int set = sets[column];
+                southOpen[column] = random.nextBoolean();
+                hasPassageSouth[set] |= southOpen[column];
+
+                // reservoir sampling keeps a uniformly chosen member of every set
+                members[set]++;
+                if (random.nextInt(members[set]) == 0) {
+                    chosen[set] = column;
+                }
+            }
+
+            for (int column = 0; column < columns; column++) {
+                int set = sets[column];
+                if (!hasPassageSouth[set]) {
+                    southOpen[chosen[set]] = true;
+                    hasPassageSouth[set] = true;
+                }
+            }
+
+            for (int column = 0; column < columns; column++) {
+                if (!southOpen[column]) {
+                    sets[column] = NO_SET;
+                }
+            }
+        }
+
+        /**
+         * Puts every cell without a set into a new set of its own, reusing the labels no longer in use.
+         */
+        private void assignNewSets() {
+            for (int label = 1; label <= columns; label++) {
+                used[label] = false;
+            }
+            for (int column = 0; column < columns; column++) {
+                used[sets[column]] = true;
+            }
+
+            int label = 1;
+            for (int column = 0; column < columns; column++) {
+                if (sets[column] != NO_SET) continue;
+
+                while (used[label]) {
+                    label++;
+                }
+                sets[column] = label;
+                used[label] = true;
+            }
+        }
+
+        private int find(int set) {
+            while (parents[set] != set) {
+                parents[set] = parents[parents[set]];
+                set = parents[set];
+            }
+            return set;
+        }
+    }
+}
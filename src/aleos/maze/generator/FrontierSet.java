@@ -0,0 +1,76 @@
+package aleos.maze.generator;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Holds the frontier of Prim's maze generation as cell ids.
+ * <p>
+ * The cells are kept unordered in a growable {@code int[]} and every member is marked in a bitset with one bit
+ * per cell, so membership checks, random picks and removals all take constant time.
+ */
+class FrontierSet {
+
+    private final long[] members;
+    private int[] cells = new int[64];
+    private int size;
+
+    /**
+     * Creates an empty frontier for a maze with the specified number of cells.
+     *
+     * @param capacity the number of cells
+     */
+    FrontierSet(int capacity) {
+        this.members = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * Adds a cell to the frontier.
+     *
+     * @param cell the id of the cell
+     * @return true if the cell was added, false if it already belonged to the frontier
+     */
+    boolean add(int cell) {
+        if (contains(cell)) {
+            return false;
+        }
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+        }
+        cells[size++] = cell;
+        members[cell >>> 6] |= 1L << cell;
+        return true;
+    }
+
+    /**
+     * Checks if a cell belongs to the frontier.
+     *
+     * @param cell the id of the cell
+     * @return true if the cell belongs to the frontier, false otherwise
+     */
+    boolean contains(int cell) {
+        return (members[cell >>> 6] & 1L << cell) != 0;
+    }
+
+    /**
+     * Removes a randomly chosen cell from the frontier, moving the last cell into its slot.
+     *
+     * @param random the random number generator
+     * @return the id of the removed cell
+     */
+    int removeRandom(RandomGenerator random) {
+        int slot = random.nextInt(size);
+        int cell = cells[slot];
+        cells[slot] = cells[--size];
+        members[cell >>> 6] &= ~(1L << cell);
+        return cell;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,99 @@
+package aleos.maze.generator;
+
+import java.util.Optional;
+
+/**
+ * The available {@link MazeGenerator} implementations.
+ * <p>
+ * Every algorithm has a file code that maze files store to regenerate a maze from its seed. A code is never reused
+ * or changed, so constants may be added or reordered without changing the mazes of existing files.
+ */
+public enum GenerationAlgorithm {
+
+    /**
+     * Randomized Prim's algorithm, many short dead ends.
+     */
+    PRIM(0, new PrimGenerator()),
+
+    /**
+     * Iterative recursive backtracker, long winding corridors.
+     */
+    BACKTRACKER(1, new BacktrackerGenerator()),
+
+    /**
+     * Randomized Kruskal's algorithm over a union-find.
+     */
+    KRUSKAL(2, new KruskalGenerator()),
+
+    /**
+     * Eller's algorithm, row by row with O(width) state.
+     */
+    ELLER(3, new EllerGenerator()),
+
+    /**
+     * Binary tree algorithm, the fastest and the most biased.
+     */
+    BINARY_TREE(4, new BinaryTreeGenerator()),
+
+    /**
+     * Sidewinder algorithm, single pass with constant state.
+     */
+    SIDEWINDER(5, new SidewinderGenerator()),
+
+    /**
+     * Tiles carved in parallel on the common fork-join pool and stitched along a spanning tree.
+     */
+    PARALLEL(6, new ParallelTiledGenerator());
+
+    private final int fileCode;
+    private final MazeGenerator generator;
+
+    GenerationAlgorithm(int fileCode, MazeGenerator generator) {
+        this.fileCode = fileCode;
+        this.generator = generator;
+    }
+
+    /**
+     * Returns the stable code of the algorithm in maze files.
+     *
+     * @return the file code, from 0 to 254
+     */
+    public int getFileCode() {
+        return fileCode;
+    }
+
+    public MazeGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Gets the algorithm with the specified name, ignoring case and treating dashes as underscores.
+     *
+     * @param name the name of the algorithm
+     * @return an Optional containing the algorithm if found, otherwise an empty Optional
+     */
+    public static Optional<GenerationAlgorithm> getAlgorithm(String name) {
+        String normalized = name.trim().replace('-', '_').toUpperCase();
+        for (GenerationAlgorithm algorithm : values()) {
+            if (algorithm.name().equals(normalized)) {
+                return Optional.of(algorithm);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the algorithm with the specified file code.
+     *
+     * @param fileCode the code of the algorithm in a maze file
+     * @return an Optional containing the algorithm if found, otherwise an empty Optional
+     */
+    public static Optional<GenerationAlgorithm> getAlgorithm(int fileCode) {
+        for (GenerationAlgorithm algorithm : values()) {
+            if (algorithm.fileCode == fileCode) {
+                return Optional.of(algorithm);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,97 @@
+package aleos.maze.generator;
+
+import aleos.maze.graph.MazeCanvas;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with a randomized version of Kruskal's algorithm.
+ * <p>
+ * All inner walls are shuffled and every wall separating two cells that are not yet connected is opened. The
+ * connected components are tracked with a union-find over an {@code int[]} of cell ids.
+ */
+public class KruskalGenerator implements MazeGenerator {
+
+    @Override
+    public void generate(MazeCanvas canvas, RandomGenerator random) {
+        CellGrid cells = new CellGrid(canvas);
+        int columns = cells.getColumns();
+        int rows = cells.getRows();
+        cells.addAll();
+
+        // a wall is encoded as 2 * cell for the wall east of the cell and 2 * cell + 1 for the wall south of it
+        int[] walls = new int[(columns - 1) * rows + columns * (rows - 1)];
+        int count = 0;
+        for (int cell = 0; cell < cells.getCellCount(); cell++) {
+            if (cell % columns < columns - 1) walls[count++] = 2 * cell;
+            if (cell / columns < rows - 1) walls[count++] = 2 * cell + 1;
+        }
+
+        for (int i = walls.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int wall = walls[i];
+            walls[i] = walls[j];
+            walls[j] = wall;
+        }
+
+        UnionFind components = new UnionFind(cells.getCellCount());
+        int remainingJoins = cells.getCellCount() - 1;
+        for (int i = 0; i < walls.length && remainingJoins > 0; i++) {
+            int cell = walls[i] >>> 1;
+            int other = (walls[i] & 1) == 0 ? cell + 1 : cell + columns;
+
+            if (components.union(cell, other)) {
+                cells.connect(cell, other);
+                remainingJoins--;
+            }
+        }
+    }
+
+    /**
+     * A disjoint-set forest with union by size and path halving.
+     */
+    static class UnionFind {
+        private final int[] parents;
+        private final int[] sizes;
+
+        UnionFind(int size) {
+            parents = new int[size];
+            sizes = new int[size];
+            for (int i = 0; i < size; i++) {
+                parents[i] = i;
+                sizes[i] = 1;
+            }
+        }
+
+        int find(int element) {
+            while (parents[element] != element) {
+                parents[element] = parents[parents[element]];
+                element = parents[element];
+            }
+            return element;
+        }
+
+        /**
+         * Merges the sets of two elements.
+         *
+         * @param a the first element
+         * @param b the second element
+         * @return true if the elements belonged to different sets, false otherwise
+         */
+        boolean union(int a, int b) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return false;
+            }
+            if (sizes[rootA] < sizes[rootB]) {
+                int root = rootA;
+                rootA = rootB;
+                rootB = root;
+            }
+            parents[rootB] = rootA;
+            sizes[rootA] += sizes[rootB];
+            return true;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package aleos.maze.generator;
+
+import aleos.maze.general.Direction;
+import aleos.maze.grid.GridStore;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Braids a maze: opens a wall at a share of its dead ends, turning them into loops.
+ * <p>
+ * The dead ends are visited in random order until the share is removed. A dead end opens the wall to a
+ * neighbouring dead end if it has one, removing two dead ends with one wall, otherwise the wall to a random
+ * neighbour; a dead end removed that way is skipped. The braider only reads the grid and leaves opening the walls
+ * to the caller, which keeps whatever it derives from the grid up to date.
+ */
+public final class MazeBraider {
+
+    /**
+     * Opens the wall between two neighbouring cells of the grid.
+     */
+    @FunctionalInterface
+    public interface WallOpener {
+
+        /**
+         * Opens the wall between two cells.
+         *
+         * @param from the grid index of the dead end
+         * @param to   the grid index of the neighbouring cell
+         */
+        void open(int from, int to);
+    }
+
+    private MazeBraider() {
+    }
+
+    /**
+     * Braids the maze held by a grid.
+     *
+     * @param grid           the grid of the maze, cells at odd coordinates inside the outer wall
+     * @param wallIdentifier the identifier of wall cells in the grid
+     * @param fraction       the share of dead ends to remove, from 0 to 1
+     * @param random         the random number generator
+     * @param opener         opens a wall in the grid, so that the braider sees it opened
+     * @return the number of removed dead ends
+     * @throws IllegalArgumentException if the share is not between 0 and 1
+     */
+    public static int braid(GridStore grid, int wallIdentifier, double fraction, RandomGenerator random,
+                            WallOpener opener) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("The share of dead ends must be between 0 and 1: " + fraction);
+        }
+
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        int[] deadEnds = findDeadEnds(grid, wallIdentifier);
+        for (int i = deadEnds.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swapped = deadEnds[i];
+            deadEnds[i] = deadEnds[j];
+            deadEnds[j] = swapped;
+        }
+
+        int goal = (int) Math.round(fraction * deadEnds.length);
+        int removed = 0;
+        int[] candidates = new int[4];
+        for (int i = 0; i < deadEnds.length && removed < goal; i++) {
+            int cell = deadEnds[i];
+            // an earlier wall may have removed this dead end already
+            if (countOpenWalls(grid, wallIdentifier, cell) != 1) continue;
+
+            int count = 0;
+            boolean deadEndFound = false;
+            for (Direction direction : Direction.values()) {
+                int x = cell % width + 2 * direction.getX();
+                int y = cell / width + 2 * direction.getY();
+                if (x < 1 || y < 1 || x > width - 2 || y > height - 2
+                        || grid.get(x - direction.getX(), y - direction.getY()) != wallIdentifier) continue;
+
+                int neighbour = y * width + x;
+                boolean deadEnd = countOpenWalls(grid, wallIdentifier, neighbour) == 1;
+                if (deadEnd && !deadEndFound) {
+                    deadEndFound = true;
+                    count = 0;
+                }
+                if (deadEnd || !deadEndFound) {
+                    candidates[count++] = neighbour;
+                }
+            }
+            if (count == 0) continue;
+
+            int neighbour = candidates[random.nextInt(count)];
+            int neighbourWalls = countOpenWalls(grid, wallIdentifier, neighbour);
+            opener.open(cell, neighbour);
+            // a walled-in neighbour becomes a dead end itself
+            removed += 1 + (neighbourWalls == 1 ? 1 : 0) - (neighbourWalls == 0 ? 1 : 0);
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the grid indices of the cells with a single open wall, in index order.
+     */
+    private static int[] findDeadEnds(GridStore grid, int wallIdentifier) {
+        int width = grid.getWidth();
+        int[] deadEnds = new int[16];
+        int count = 0;
+        for (int y = 1; y < grid.getHeight() - 1; y += 2) {
+            for (int x = 1; x < width - 1; x += 2) {
+                int cell = y * width + x;
+                if (grid.get(x, y) != wallIdentifier && countOpenWalls(grid, wallIdentifier, cell) == 1) {
+                    if (count == deadEnds.length) {
+                        deadEnds = Arrays.copyOf(deadEnds, count * 2);
+                    }
+                    deadEnds[count++] = cell;
+                }
+            }
+        }
+        return Arrays.copyOf(deadEnds, count);
+    }
+
+    /**
+     * Returns the number of open walls around a cell of the maze proper.
+     */
+    private static int countOpenWalls(GridStore grid, int wallIdentifier, int cell) {
+        int x = cell % grid.getWidth();
+        int y = cell / grid.getWidth();
+        int open = 0;
+        for (Direction direction : Direction.values()) {
+            if (grid.get(x + direction.getX(), y + direction.getY()) != wallIdentifier) {
+                open++;
+            }
+        }
+        return open;
+    }
+}
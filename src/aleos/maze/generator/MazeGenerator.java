@@ -0,0 +1,22 @@
+package aleos.maze.generator;
+
+import aleos.maze.graph.MazeCanvas;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Carves a perfect maze into an empty maze canvas.
+ * <p>
+ * The cells of the maze are the grid positions with odd coordinates. A generator adds every cell to the canvas
+ * as a node and connects neighbouring cells so that exactly one path leads from any cell to any other.
+ */
+public interface MazeGenerator {
+
+    /**
+     * Carves a perfect maze into the canvas.
+     *
+     * @param canvas the empty canvas of the maze, its width and height must be odd
+     * @param random the random number generator
+     */
+    void generate(MazeCanvas canvas, RandomGenerator random);
+}
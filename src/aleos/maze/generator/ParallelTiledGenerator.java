@@ -0,0 +1,224 @@
+package aleos.maze.generator;
+
+import aleos.maze.graph.MazeCanvas;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates a maze by carving square tiles of cells in parallel and stitching them together.
+ * <p>
+ * Every tile is carved independently with a randomized depth-first search in a {@link ForkJoinPool}. The tiles
+ * are then joined along a random spanning tree over the tile grid, opening exactly one passage per tree edge, so
+ * the result is still a perfect maze. Tiles write to disjoint parts of the {@link MazeCanvas}, which needs no
+ * locking. Tile sides are rounded up to a multiple of {@value #TILE_ALIGNMENT} cells: a tile then spans a multiple
+ * of 32 grid columns, so tiles carved at the same time never share a word of a packed grid either.
+ */
+public class ParallelTiledGenerator implements MazeGenerator {
+
+    /**
+     * The default number of cells along the side of a tile.
+     */
+    private static final int DEFAULT_TILE_SIZE = 128;
+
+    /**
+     * The number of cells tile sides are a multiple of.
+     */
+    private static final int TILE_ALIGNMENT = 16;
+
+    private final ForkJoinPool pool;
+    private final int tileSize;
+
+    /**
+     * Creates a generator running in the common pool.
+     */
+    public ParallelTiledGenerator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * Creates a generator running in the specified pool.
+     *
+     * @param pool     the pool carving the tiles
+     * @param tileSize the number of cells along the side of a tile, rounded up to a multiple of {@value #TILE_ALIGNMENT}
+     */
+    public ParallelTiledGenerator(ForkJoinPool pool, int tileSize) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("The tile size must be positive: " + tileSize);
+        }
+        this.pool = pool;
+        this.tileSize = (tileSize + TILE_ALIGNMENT - 1) / TILE_ALIGNMENT * TILE_ALIGNMENT;
+    }
+
+    @Override
+    public void generate(MazeCanvas canvas, RandomGenerator random) {
+        CellGrid cells = new CellGrid(canvas);
+        cells.addAll();
+
+        int tileColumns = (cells.getColumns() + tileSize - 1) / tileSize;
+        int tileRows = (cells.getRows() + tileSize - 1) / tileSize;
+
+        // every tile gets its own generator split off up front, so tiles share no random state and the maze does
+        // not depend on the order they are carved in
+        RandomGenerator.SplittableGenerator root = random instanceof RandomGenerator.SplittableGenerator splittable
+                ? splittable
+                : new SplittableRandom(random.nextLong());
+        RandomGenerator[] tileRandoms = new RandomGenerator[tileColumns * tileRows];
+        for (int i = 0; i < tileRandoms.length; i++) {
+            tileRandoms[i] = root.split();
+        }
+
+        pool.invoke(new TileTask(cells, tileColumns, tileRandoms, 0, tileRandoms.length));
+
+        stitchTiles(cells, tileColumns, tileRows, random);
+    }
+
+    /**
+     * Joins the tiles along a random spanning tree of the tile grid.
+     *
+     * @param cells       the cells of the maze
+     * @param tileColumns the number of tiles in a row
+     * @param tileRows    the number of tiles in a column
+     * @param random      the random number generator
+     */
+    private void stitchTiles(CellGrid cells, int tileColumns, int tileRows, RandomGenerator random) {
+        int tileCount = tileColumns * tileRows;
+
+        // a boundary is encoded as 2 * tile for the boundary east of the tile and 2 * tile + 1 for the one south of it
+        int[] boundaries = new int[2 * tileCount];
+        int count = 0;
+        for (int tile = 0; tile < tileCount; tile++) {
+            if (tile % tileColumns < tileColumns - 1) boundaries[count++] = 2 * tile;
+            if (tile / tileColumns < tileRows - 1) boundaries[count++] = 2 * tile + 1;
+        }
+
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int boundary = boundaries[i];
+            boundaries[i] = boundaries[j];
+            boundaries[j] = boundary;
+        }
+
+        KruskalGenerator.UnionFind tiles = new KruskalGenerator.UnionFind(tileCount);
+        for (int i = 0; i < count; i++) {
+            int tile = boundaries[i] >>> 1;
+            boolean east = (boundaries[i] & 1) == 0;
+            int other = east ? tile + 1 : tile + tileColumns;
+
+            if (tiles.union(tile, other)) {
+                openBoundary(cells, tile % tileColumns, tile / tileColumns, east, random);
+            }
+        }
+    }
+
+    /**
+     * Opens one passage through the boundary east or south of a tile.
+     */
+    private void openBoundary(CellGrid cells, int tileColumn, int tileRow, boolean east, RandomGenerator random) {
+        int firstColumn = tileColumn * tileSize;
+        int firstRow = tileRow * tileSize;
+        int columns = cells.getColumns();
+
+        if (east) {
+            int lastColumn = firstColumn + tileSize - 1;
+            int row = firstRow + random.nextInt(Math.min(tileSize, cells.getRows() - firstRow));
+            int cell = row * columns + lastColumn;
+            cells.connect(cell, cell + 1);
+        } else {
+            int lastRow = firstRow + tileSize - 1;
+            int column = firstColumn + random.nextInt(Math.min(tileSize, columns - firstColumn));
+            int cell = lastRow * columns + column;
+            cells.connect(cell, cell + columns);
+        }
+    }
+
+    /**
+     * Carves a range of tiles, splitting the range in halves until a single tile is left.
+     */
+    private class TileTask extends RecursiveAction {
+        private final CellGrid cells;
+        private final int tileColumns;
+        private final RandomGenerator[] randoms;
+        private final int from;
+        private final int to;
+
+        TileTask(CellGrid cells, int tileColumns, RandomGenerator[] randoms, int from, int to) {
+            this.cells = cells;
+            this.tileColumns = tileColumns;
+            this.randoms = randoms;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                carveTile(cells, from % tileColumns, from / tileColumns, randoms[from]);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new TileTask(cells, tileColumns, randoms, from, middle),
+                    new TileTask(cells, tileColumns, randoms, middle, to));
+        }
+    }
+
+    /**
+     * Carves a perfect maze inside one tile with an iterative randomized depth-first search.
+     *
+     * @param cells      the cells of the maze
+     * @param tileColumn the column of the tile
+     * @param tileRow    the row of the tile
+     * @param random     the random number generator of the tile
+     */
+    private void carveTile(CellGrid cells, int tileColumn, int tileRow, RandomGenerator random) {
+        int firstColumn = tileColumn * tileSize;
+        int firstRow = tileRow * tileSize;
+        int width = Math.min(tileSize, cells.getColumns() - firstColumn);
+        int height = Math.min(tileSize, cells.getRows() - firstRow);
+
+        // cells are addressed by their position inside the tile while carving
+        boolean[] visited = new boolean[width * height];
+        int[] stack = new int[64];
+        int size = 0;
+        int[] candidates = new int[4];
+
+        int start = random.nextInt(width * height);
+        visited[start] = true;
+        stack[size++] = start;
+
+        while (size > 0) {
+            int local = stack[size - 1];
+            int column = local % width;
+            int row = local / width;
+
+            int count = 0;
+            if (row > 0 && !visited[local - width]) candidates[count++] = local - width;
+            if (column < width - 1 && !visited[local + 1]) candidates[count++] = local + 1;
+            if (row < height - 1 && !visited[local + width]) candidates[count++] = local + width;
+            if (column > 0 && !visited[local - 1]) candidates[count++] = local - 1;
+
+            if (count == 0) {
+                size--;
+                continue;
+            }
+
+            int next = candidates[random.nextInt(count)];
+            visited[next] = true;
+            cells.connect(toCell(cells, firstColumn, firstRow, width, local),
+                    toCell(cells, firstColumn, firstRow, width, next));
+
+            if (size == stack.length) {
+                stack = Arrays.copyOf(stack, size * 2);
+            }
+            stack[size++] = next;
+        }
+    }
+
+    private static int toCell(CellGrid cells, int firstColumn, int firstRow, int width, int local) {
+        return (firstRow + local / width) * cells.getColumns() + firstColumn + local % width;
+    }
+}
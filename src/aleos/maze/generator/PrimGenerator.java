@@ -0,0 +1,56 @@
+package aleos.maze.generator;
+
+import aleos.maze.graph.MazeCanvas;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with a randomized version of Prim's algorithm.
+ * <p>
+ * Every cell discovered next to a seed is connected to that seed and joins the frontier, the next seed is drawn
+ * at random from the frontier until no cell is left to discover.
+ */
+public class PrimGenerator implements MazeGenerator {
+
+    @Override
+    public void generate(MazeCanvas canvas, RandomGenerator random) {
+        CellGrid cells = new CellGrid(canvas);
+        FrontierSet frontierNodes = new FrontierSet(cells.getCellCount());
+
+        int seed = random.nextInt(cells.getCellCount());
+        cells.add(seed);
+
+        do {
+            searchForFrontierNodes(cells, canvas, frontierNodes, seed);
+            seed = frontierNodes.isEmpty() ? -1 : frontierNodes.removeRandom(random);
+        } while (seed != -1);
+    }
+
+    /**
+     * Searches for frontier cells adjacent to the given seed cell and adds them to the canvas.
+     *
+     * @param cells         the cells of the maze
+     * @param canvas        the canvas of the maze
+     * @param frontierNodes the current frontier
+     * @param seed          the id of the seed cell
+     */
+    private void searchForFrontierNodes(CellGrid cells, MazeCanvas canvas, FrontierSet frontierNodes, int seed) {
+        int column = seed % cells.getColumns();
+        int row = seed / cells.getColumns();
+
+        if (row > 0) visit(cells, canvas, frontierNodes, seed, seed - cells.getColumns());
+        if (column < cells.getColumns() - 1) visit(cells, canvas, frontierNodes, seed, seed + 1);
+        if (row < cells.getRows() - 1) visit(cells, canvas, frontierNodes, seed, seed + cells.getColumns());
+        if (column > 0) visit(cells, canvas, frontierNodes, seed, seed - 1);
+    }
+
+    private void visit(CellGrid cells, MazeCanvas canvas, FrontierSet frontierNodes, int seed, int cell) {
+        if (frontierNodes.contains(cell) || canvas.contains(cells.node(cell))) {
+            return;
+        }
+
+        cells.add(cell);
+        cells.connect(seed, cell);
+        frontierNodes.add(cell);
+    }
+}
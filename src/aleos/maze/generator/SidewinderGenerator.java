@@ -0,0 +1,43 @@
+package aleos.maze.generator;
+
+import aleos.maze.graph.MazeCanvas;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with the sidewinder algorithm.
+ * <p>
+ * Each row is split into random horizontal runs and every run opens one passage north from a random cell. Only
+ * the start of the current run is remembered, so a maze is carved in a single pass with constant extra memory.
+ */
+public class SidewinderGenerator implements MazeGenerator {
+
+    @Override
+    public void generate(MazeCanvas canvas, RandomGenerator random) {
+        CellGrid cells = new CellGrid(canvas);
+        int columns = cells.getColumns();
+        cells.addAll();
+
+        for (int column = 0; column < columns - 1; column++) {
+            cells.connect(column, column + 1);
+        }
+
+        for (int row = 1; row < cells.getRows(); row++) {
+            int rowStart = row * columns;
+            int runStart = rowStart;
+
+            for (int column = 0; column < columns; column++) {
+                int cell = rowStart + column;
+                boolean closeRun = column == columns - 1 || random.nextBoolean();
+
+                if (closeRun) {
+                    int passage = runStart + random.nextInt(cell - runStart + 1);
+                    cells.connect(passage, passage - columns);
+                    runStart = cell + 1;
+                } else {
+                    cells.connect(cell, cell + 1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package aleos.maze.generator;
+
+import aleos.maze.general.Palette;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates a maze with Eller's algorithm and writes it row by row without ever holding the whole maze.
+ * <p>
+ * Only the state of {@link EllerGenerator.RowCarver} and one rendered row are kept, so memory stays O(width)
+ * and the height is bounded only by the destination. Rows are assembled from the pre-encoded signs of a
+ * {@link Palette}, {@link Palette#UNICODE} by default as in {@code Maze.toString()}.
+ */
+public class StreamingGenerator {
+
+    private final RandomGenerator random;
+    private final byte[] wall;
+    private final byte[] passage;
+
+    /**
+     * Creates a generator drawing its random choices from the specified generator.
+     *
+     * @param random the random number generator
+     */
+    public StreamingGenerator(RandomGenerator random) {
+        this(random, Palette.UNICODE);
+    }
+
+    /**
+     * Creates a generator drawing its random choices from the specified generator and its rows with the
+     * specified palette.
+     *
+     * @param random  the random number generator
+     * @param palette the signs to draw the cells with
+     */
+    public StreamingGenerator(RandomGenerator random, Palette palette) {
+        this.random = random;
+        this.wall = palette.getWallBytes();
+        this.passage = palette.getPassageBytes();
+    }
+
+    /**
+     * Generates a maze and writes it as UTF-8 text to the specified stream.
+     *
+     * @param width  the width of the maze, rounded up to an odd number
+     * @param height the height of the maze, rounded up to an odd number
+     * @param output the destination of the rendered maze, flushed but left open
+     * @throws IOException if writing fails
+     */
+    public void generate(int width, long height, OutputStream output) throws IOException {
+        if (width < 5 || height < 5) {
+            throw new IllegalArgumentException("Invalid maze dimensions: Width and height must be at least 5.");
+        }
+
+        int columns = (width - 1) / 2 + (width % 2 == 0 ? 1 : 0);
+        long rows = (height - 1) / 2 + (height % 2 == 0 ? 1 : 0);
+        long entranceRow = random.nextLong(rows);
+        long exitRow = random.nextLong(rows);
+
+        EllerGenerator.RowCarver carver = new EllerGenerator.RowCarver(columns, random);
+        boolean[] eastOpen = new boolean[columns];
+        boolean[] southOpen = new boolean[columns];
+        OutputStream buffered = new BufferedOutputStream(output, 1 << 16);
+        byte[] line = new byte[(2 * columns + 1) * Math.max(wall.length, passage.length) + 1];
+
+        writeBorderRow(buffered, line, 2 * columns + 1);
+        for (long row = 0; row < rows; row++) {
+            carver.carveRow(row == rows - 1, eastOpen, southOpen);
+            writeCellRow(buffered, line, eastOpen, row == entranceRow, row == exitRow);
+            if (row < rows - 1) {
+                writeWallRow(buffered, line, southOpen);
+            }
+        }
+        writeBorderRow(buffered, line, 2 * columns + 1);
+
+        buffered.flush();
+    }
+
+    private void writeBorderRow(OutputStream output, byte[] line, int cells) throws IOException {
+        int position = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            position = put(line, position, wall);
+        }
+        line[position++] = '\n';
+        output.write(line, 0, position);
+    }
+
+    private void writeCellRow(OutputStream output, byte[] line, boolean[] eastOpen,
+                              boolean entrance, boolean exit) throws IOException {
+        int position = put(line, 0, entrance ? passage : wall);
+        for (int column = 0; column < eastOpen.length - 1; column++) {
+            position = put(line, position, passage);
+            position = put(line, position, eastOpen[column] ? passage : wall);
+        }
+        position = put(line, position, passage);
+        position = put(line, position, exit ? passage : wall);
+        line[position++] = '\n';
+        output.write(line, 0, position);
+    }
+
+    private void writeWallRow(OutputStream output, byte[] line, boolean[] southOpen) throws IOException {
+        int position = put(line, 0, wall);
+        for (boolean open : southOpen) {
+            position = put(line, position, open ? passage : wall);
+            position = put(line, position, wall);
+        }
+        line[position++] = '\n';
+        output.write(line, 0, position);
+    }
+
+    private static int put(byte[] line, int position, byte[] sign) {
+        System.arraycopy(sign, 0, line, position, sign.length);
+        return position + sign.length;
+    }
+}
@@ -0,0 +1,238 @@
+package aleos.maze.graph;
+
+import aleos.maze.general.Direction;
+
+import java.io.Serializable;
+import java.util.function.IntConsumer;
+
+/**
+ * Represents the maze graph as a flat array of open-wall masks.
+ * <p>
+ * Every position of the maze grid is addressed by the index {@code y * width + x}. The lower four bits
+ * of a position hold the open walls (one bit per {@link Direction}), the fifth bit marks the position
+ * as a node of the graph. An open wall leads to the nearest node in that direction, so the whole
+ * graph takes one byte per grid position instead of several objects per node.
+ */
+public class CompactGraph implements MazeGraph, MazeCanvas, Serializable {
+
+    /**
+     * The bit marking a grid position as a node of the graph.
+     */
+    private static final int NODE_BIT = 1 << 4;
+
+    /**
+     * The bits holding the open walls of a node.
+     */
+    private static final int WALL_MASK = 0b1111;
+
+    private final int width;
+    private final int height;
+    private final byte[] cells;
+    private int nodeCount;
+
+    /**
+     * Creates an empty graph for a grid of the specified dimensions.
+     *
+     * @param width  the width of the grid
+     * @param height the height of the grid
+     */
+    public CompactGraph(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[Math.multiplyExact(width, height)];
+    }
+
+    /**
+     * Returns a copy of the graph that shares no mutable state with it.
+     *
+     * @return the copy of the graph
+     */
+    public CompactGraph copy() {
+        CompactGraph copy = new CompactGraph(width, height);
+        System.arraycopy(cells, 0, copy.cells, 0, cells.length);
+        copy.nodeCount = nodeCount;
+        return copy;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of nodes in the graph.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public int index(int x, int y) {
+        return y * width + x;
+    }
+
+    @Override
+    public int x(int index) {
+        return index % width;
+    }
+
+    @Override
+    public int y(int index) {
+        return index / width;
+    }
+
+    @Override
+    public boolean isInside(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    @Override
+    public void addNode(int index) {
+        if ((cells[index] & NODE_BIT) == 0) {
+            cells[index] |= NODE_BIT;
+            nodeCount++;
+        }
+    }
+
+    @Override
+    public boolean contains(int index) {
+        return (cells[index] & NODE_BIT) != 0;
+    }
+
+    @Override
+    public void connect(int from, int to) {
+        Direction direction = directionBetween(from, to);
+        cells[from] |= (byte) direction.getMask();
+        cells[to] |= (byte) direction.opposite().getMask();
+    }
+
+    /**
+     * Removes the edge between two connected nodes lying on the same row or column.
+     *
+     * @param from the index of the first node
+     * @param to   the index of the second node
+     */
+    public void disconnect(int from, int to) {
+        Direction direction = directionBetween(from, to);
+        cells[from] &= (byte) ~direction.getMask();
+        cells[to] &= (byte) ~direction.opposite().getMask();
+    }
+
+    /**
+     * Makes a position a node of its own. A position lying inside a corridor divides the edge of the corridor in
+     * two, so that the graph stays the same maze with one more node.
+     *
+     * @param index the index of the position
+     */
+    public void split(int index) {
+        if (contains(index)) {
+            return;
+        }
+
+        addNode(index);
+        // the position lies on a corridor if the nearest node before it on the row or column opens towards it
+        for (Direction direction : new Direction[]{Direction.EAST, Direction.SOUTH}) {
+            int before = nearestNode(index, direction.opposite());
+            if (before != -1 && isOpen(before, direction)) {
+                cells[index] |= (byte) (direction.getMask() | direction.opposite().getMask());
+            }
+        }
+    }
+
+    /**
+     * Returns the nearest node from a position in the specified direction, or -1 if there is none.
+     */
+    private int nearestNode(int index, Direction direction) {
+        int x = x(index) + direction.getX();
+        int y = y(index) + direction.getY();
+        while (isInside(x, y)) {
+            if (contains(index(x, y))) {
+                return index(x, y);
+            }
+            x += direction.getX();
+            y += direction.getY();
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the wall of a node in the specified direction is open.
+     *
+     * @param index     the index of the node
+     * @param direction the direction to check
+     * @return true if the wall is open, false otherwise
+     */
+    public boolean isOpen(int index, Direction direction) {
+        return (cells[index] & direction.getMask()) != 0;
+    }
+
+    /**
+     * Returns the open walls of a node as a mask of {@link Direction#getMask()} bits.
+     *
+     * @param index the index of the node
+     * @return the mask of open walls
+     */
+    public int getOpenWalls(int index) {
+        return cells[index] & WALL_MASK;
+    }
+
+    @Override
+    public int getNeighbour(int index, Direction direction) {
+        if (!isOpen(index, direction)) {
+            return -1;
+        }
+
+        int step = direction.getY() * width + direction.getX();
+        int target = index + step;
+        while (!contains(target)) {
+            target += step;
+        }
+        return target;
+    }
+
+    @Override
+    public int getEdgeWeight(int from, int to) {
+        return Math.abs(x(from) - x(to)) + Math.abs(y(from) - y(to));
+    }
+
+    /**
+     * Performs the given action for every node of the graph in index order.
+     *
+     * @param action the action to perform
+     */
+    public void forEachNode(IntConsumer action) {
+        for (int i = 0; i < cells.length; i++) {
+            if ((cells[i] & NODE_BIT) != 0) {
+                action.accept(i);
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of heap bytes retained by this graph.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimateMemory() {
+        // object header with fields plus the array header and its payload
+        return 32 + 16 + (long) cells.length;
+    }
+
+    private Direction directionBetween(int from, int to) {
+        int dx = Integer.signum(x(to) - x(from));
+        int dy = Integer.signum(y(to) - y(from));
+        for (Direction direction : Direction.values()) {
+            if (direction.getX() == dx && direction.getY() == dy) {
+                return direction;
+            }
+        }
+        throw new IllegalArgumentException("Nodes must lie on the same row or column: " + from + ", " + to);
+    }
+}
@@ -14,12 +14,12 @@ public class Graph implements Serializable {
     private final Map<Node, PriorityQueue<Edge>> adjacencyList = new HashMap<>();
 
     /**
-     * Returns a set of all nodes in the graph.
+     * Returns a read-only view of all nodes in the graph, which reflects later changes of the graph.
      *
      * @return a set of nodes
      */
     public Set<Node> getNodes() {
-        return new HashSet<>(adjacencyList.keySet());
+        return Collections.unmodifiableSet(adjacencyList.keySet());
     }
 
     /**
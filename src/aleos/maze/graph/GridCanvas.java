@@ -0,0 +1,66 @@
+package aleos.maze.graph;
+
+import aleos.maze.grid.GridStore;
+
+/**
+ * Carves a maze straight into the cells of a maze grid, so that generation needs no graph at all.
+ * <p>
+ * The grid is expected to be filled with walls. Adding a node opens its cell and connecting two nodes opens every
+ * cell between them, which is exactly what painting a generated graph onto the grid used to produce.
+ */
+public class GridCanvas implements MazeCanvas {
+
+    private final GridStore grid;
+    private final int wallIdentifier;
+    private final int passageIdentifier;
+
+    /**
+     * Creates a canvas over the specified grid.
+     *
+     * @param grid              the maze grid, filled with walls
+     * @param wallIdentifier    the identifier of wall cells in the grid
+     * @param passageIdentifier the identifier the carved cells are set to
+     */
+    public GridCanvas(GridStore grid, int wallIdentifier, int passageIdentifier) {
+        this.grid = grid;
+        this.wallIdentifier = wallIdentifier;
+        this.passageIdentifier = passageIdentifier;
+    }
+
+    @Override
+    public int getWidth() {
+        return grid.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return grid.getHeight();
+    }
+
+    @Override
+    public void addNode(int index) {
+        grid.set(index % getWidth(), index / getWidth(), passageIdentifier);
+    }
+
+    @Override
+    public boolean contains(int index) {
+        return grid.get(index % getWidth(), index / getWidth()) != wallIdentifier;
+    }
+
+    @Override
+    public void connect(int from, int to) {
+        int width = getWidth();
+        int x1 = from % width;
+        int y1 = from / width;
+        int x2 = to % width;
+        int y2 = to / width;
+
+        if (x1 == x2) {
+            grid.paintColumn(x1, Math.min(y1, y2), Math.max(y1, y2), passageIdentifier);
+        } else if (y1 == y2) {
+            grid.paintRow(y1, Math.min(x1, x2), Math.max(x1, x2), passageIdentifier);
+        } else {
+            throw new IllegalArgumentException("Nodes must lie on the same row or column: " + from + ", " + to);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package aleos.maze.graph;
+
+import aleos.maze.general.Direction;
+import aleos.maze.grid.GridStore;
+
+/**
+ * A maze graph computed on the fly from the walls of a maze grid.
+ * <p>
+ * The nodes are the open cells with odd coordinates plus the openings in the outer wall (entrance and exit), two
+ * nodes are connected when no wall separates them. Nothing is stored besides the grid itself.
+ */
+public class GridGraph implements MazeGraph {
+
+    private final GridStore grid;
+    private final int wallIdentifier;
+
+    /**
+     * Creates a view of the specified grid.
+     *
+     * @param grid           the maze grid
+     * @param wallIdentifier the identifier of wall cells in the grid, every other identifier is open
+     */
+    public GridGraph(GridStore grid, int wallIdentifier) {
+        this.grid = grid;
+        this.wallIdentifier = wallIdentifier;
+    }
+
+    @Override
+    public int getWidth() {
+        return grid.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return grid.getHeight();
+    }
+
+    @Override
+    public boolean contains(int index) {
+        int x = x(index);
+        int y = y(index);
+        return isNodePosition(x, y) && isOpen(x, y);
+    }
+
+    @Override
+    public int getNeighbour(int index, Direction direction) {
+        int x = x(index) + direction.getX();
+        int y = y(index) + direction.getY();
+        if (!isInside(x, y) || !isOpen(x, y)) {
+            return -1;
+        }
+
+        if (!isNodePosition(x, y)) {
+            x += direction.getX();
+            y += direction.getY();
+        }
+        return index(x, y);
+    }
+
+    private boolean isOpen(int x, int y) {
+        return grid.get(x, y) != wallIdentifier;
+    }
+
+    /**
+     * Checks if a node may lie on the specified position: a cell with odd coordinates or a gap in the outer wall.
+     */
+    private boolean isNodePosition(int x, int y) {
+        boolean onBorder = x == 0 || y == 0 || x == getWidth() - 1 || y == getHeight() - 1;
+        return onBorder || x % 2 == 1 && y % 2 == 1;
+    }
+}
@@ -0,0 +1,40 @@
+package aleos.maze.graph;
+
+/**
+ * A surface a maze generator carves into: nodes are added at grid positions and walls between them are opened.
+ * <p>
+ * Positions are addressed by the index {@code y * width + x}, as in {@link MazeGraph}.
+ */
+public interface MazeCanvas {
+
+    int getWidth();
+
+    int getHeight();
+
+    /**
+     * Adds a new node to the canvas.
+     *
+     * @param index the index of the node
+     */
+    void addNode(int index);
+
+    /**
+     * Checks if a node was added at the specified position.
+     *
+     * @param index the index of the position
+     * @return true if the position holds a node, false otherwise
+     */
+    boolean contains(int index);
+
+    /**
+     * Connects two nodes lying on the same row or column by opening the walls between them.
+     *
+     * @param from the index of the first node
+     * @param to   the index of the second node
+     */
+    void connect(int from, int to);
+
+    default int index(int x, int y) {
+        return y * getWidth() + x;
+    }
+}
@@ -0,0 +1,96 @@
+package aleos.maze.graph;
+
+import aleos.maze.general.Direction;
+
+/**
+ * A read-only view of a maze graph whose nodes are addressed by the grid index {@code y * width + x}.
+ * <p>
+ * Solvers only walk a maze through this interface, so they work the same on a {@link CompactGraph} and on a view
+ * computed straight from the maze grid.
+ */
+public interface MazeGraph {
+
+    int getWidth();
+
+    int getHeight();
+
+    /**
+     * Returns the index of the grid position with the specified coordinates.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the index of the position
+     */
+    default int index(int x, int y) {
+        return y * getWidth() + x;
+    }
+
+    /**
+     * Returns the x-coordinate of the grid position with the specified index.
+     *
+     * @param index the index of the position
+     * @return the x-coordinate
+     */
+    default int x(int index) {
+        return index % getWidth();
+    }
+
+    /**
+     * Returns the y-coordinate of the grid position with the specified index.
+     *
+     * @param index the index of the position
+     * @return the y-coordinate
+     */
+    default int y(int index) {
+        return index / getWidth();
+    }
+
+    /**
+     * Checks if the specified coordinates lie inside the grid.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return true if the coordinates are inside the grid, false otherwise
+     */
+    default boolean isInside(int x, int y) {
+        return x >= 0 && x < getWidth() && y >= 0 && y < getHeight();
+    }
+
+    /**
+     * Checks if the graph contains a specific node.
+     *
+     * @param index the index of the node
+     * @return true if the graph contains the node, false otherwise
+     */
+    boolean contains(int index);
+
+    /**
+     * Returns the node connected to the specified node in the given direction.
+     *
+     * @param index     the index of the node
+     * @param direction the direction to follow
+     * @return the index of the connected node, or -1 if the wall is closed
+     */
+    int getNeighbour(int index, Direction direction);
+
+    /**
+     * Returns the weight of the edge between two connected nodes.
+     *
+     * @param from the index of the first node
+     * @param to   the index of the second node
+     * @return the weight of the edge
+     */
+    default int getEdgeWeight(int from, int to) {
+        return Math.abs(x(from) - x(to)) + Math.abs(y(from) - y(to));
+    }
+
+    /**
+     * Returns an upper bound of the edge weights of the graph. A maze graph has a node on every cell, so an edge
+     * spans at most a wall and the cell behind it.
+     *
+     * @return the largest weight an edge may have
+     */
+    default int getMaxEdgeWeight() {
+        return 2;
+    }
+}
@@ -9,7 +9,11 @@ import java.util.Set;
 
 public class Node implements Serializable, Comparable<Node> {
     private final Cell coordinate;
-    private final Set<Edge> edges = new HashSet<>();
+
+    /**
+     * The edges leaving the node, null until the first one is added; most nodes never get any.
+     */
+    private Set<Edge> edges;
 
     public Node(Cell cell) {
         coordinate = cell;
@@ -20,6 +24,9 @@ public class Node implements Serializable, Comparable<Node> {
     }
 
     public void addEdge(Edge edge) {
+        if (edges == null) {
+            edges = new HashSet<>();
+        }
         edges.add(edge);
     }
 
@@ -52,6 +59,9 @@ public class Node implements Serializable, Comparable<Node> {
     }
 
     public Edge getEdgeTo(Node sourceNode) {
+        if (edges == null) {
+            return null;
+        }
         return edges.stream()
                 .filter(edge -> edge.getTargetNode().equals(sourceNode))
                 .findAny()
@@ -0,0 +1,134 @@
+package aleos.maze.graph;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * The cost of passing through every position of a maze grid, one byte per position.
+ * <p>
+ * Positions are addressed by the index {@code y * width + x}, as in {@link MazeGraph}. An edge weighs its length
+ * plus the surcharge {@code cost - 1} of every position strictly between its ends, so its weight is the same in
+ * both directions. Between two cells of a maze that position is the wall they share, which makes the terrain a
+ * weight per edge. A cost is at least 1, so a path never costs less than its length and the Manhattan distance
+ * stays a consistent heuristic; a terrain where every cost is 1 weighs a maze exactly like its plain graph.
+ */
+public class Terrain implements Serializable {
+
+    /**
+     * The largest cost of a position.
+     */
+    public static final int MAX_COST = Byte.MAX_VALUE;
+
+    private final int width;
+    private final int height;
+    private final byte[] costs;
+    private int maxCost = 1;
+
+    /**
+     * Creates a flat terrain, where every position costs 1.
+     *
+     * @param width  the width of the grid
+     * @param height the height of the grid
+     */
+    public Terrain(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.costs = new byte[Math.multiplyExact(width, height)];
+        Arrays.fill(costs, (byte) 1);
+    }
+
+    /**
+     * Creates a terrain whose positions cost a uniformly random value between 1 and the specified cost.
+     *
+     * @param width   the width of the grid
+     * @param height  the height of the grid
+     * @param maxCost the largest cost of a position
+     * @param random  the random number generator
+     * @return the new terrain
+     */
+    public static Terrain random(int width, int height, int maxCost, RandomGenerator random) {
+        checkCost(maxCost);
+        Terrain terrain = new Terrain(width, height);
+        for (int i = 0; i < terrain.costs.length; i++) {
+            terrain.costs[i] = (byte) random.nextInt(1, maxCost + 1);
+        }
+        terrain.maxCost = maxCost;
+        return terrain;
+    }
+
+    /**
+     * Returns a copy of the terrain that shares no mutable state with it.
+     *
+     * @return the copy of the terrain
+     */
+    public Terrain copy() {
+        Terrain copy = new Terrain(width, height);
+        System.arraycopy(costs, 0, copy.costs, 0, costs.length);
+        copy.maxCost = maxCost;
+        return copy;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the cost of passing through a position.
+     *
+     * @param index the index of the position
+     * @return the cost, at least 1
+     */
+    public int getCost(int index) {
+        return costs[index];
+    }
+
+    /**
+     * Sets the cost of passing through a position.
+     *
+     * @param x    the x-coordinate of the position
+     * @param y    the y-coordinate of the position
+     * @param cost the cost, from 1 to {@link #MAX_COST}
+     */
+    public void setCost(int x, int y, int cost) {
+        checkCost(cost);
+        costs[y * width + x] = (byte) cost;
+        maxCost = Math.max(maxCost, cost);
+    }
+
+    /**
+     * Returns an upper bound of the costs of the positions: the largest cost ever set.
+     *
+     * @return the largest cost
+     */
+    public int getMaxCost() {
+        return maxCost;
+    }
+
+    /**
+     * Returns the weight of a straight walk between two positions on the same row or column: its length plus the
+     * surcharge of every position passed through, the ends excluded.
+     *
+     * @param from the index of the first position
+     * @param to   the index of the second position
+     * @return the weight of the walk, the same in both directions
+     */
+    public int getWeight(int from, int to) {
+        int step = from / width == to / width ? Integer.signum(to - from) : Integer.signum(to - from) * width;
+        int weight = 1;
+        for (int index = from + step; index != to; index += step) {
+            weight += costs[index];
+        }
+        return weight;
+    }
+
+    private static void checkCost(int cost) {
+        if (cost < 1 || cost > MAX_COST) {
+            throw new IllegalArgumentException("The cost must be between 1 and " + MAX_COST + ": " + cost);
+        }
+    }
+}
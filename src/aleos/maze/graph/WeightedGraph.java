@@ -0,0 +1,59 @@
+package aleos.maze.graph;
+
+import aleos.maze.general.Direction;
+
+/**
+ * A maze graph whose edges are weighted by the {@link Terrain} they cross instead of by their length.
+ * <p>
+ * The nodes and edges are those of the underlying graph; an edge weighs its length plus the surcharges of the
+ * positions it passes through, see {@link Terrain}.
+ */
+public class WeightedGraph implements MazeGraph {
+
+    private final MazeGraph graph;
+    private final Terrain terrain;
+
+    /**
+     * Creates a view of a graph weighted by the specified terrain.
+     *
+     * @param graph   the maze graph
+     * @param terrain the terrain of the maze, of the same dimensions as the graph
+     */
+    public WeightedGraph(MazeGraph graph, Terrain terrain) {
+        if (graph.getWidth() != terrain.getWidth() || graph.getHeight() != terrain.getHeight()) {
+            throw new IllegalArgumentException("The terrain does not match the dimensions of the graph");
+        }
+        this.graph = graph;
+        this.terrain = terrain;
+    }
+
+    @Override
+    public int getWidth() {
+        return graph.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return graph.getHeight();
+    }
+
+    @Override
+    public boolean contains(int index) {
+        return graph.contains(index);
+    }
+
+    @Override
+    public int getNeighbour(int index, Direction direction) {
+        return graph.getNeighbour(index, direction);
+    }
+
+    @Override
+    public int getEdgeWeight(int from, int to) {
+        return terrain.getWeight(from, to);
+    }
+
+    @Override
+    public int getMaxEdgeWeight() {
+        return graph.getMaxEdgeWeight() * terrain.getMaxCost();
+    }
+}
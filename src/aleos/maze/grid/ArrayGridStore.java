@@ -0,0 +1,93 @@
+package aleos.maze.grid;
+
+import java.util.Arrays;
+
+/**
+ * Stores the maze grid as an {@code int[width][height]} array.
+ */
+public class ArrayGridStore implements GridStore {
+
+    private final int width;
+    private final int height;
+    private final int[][] grid;
+
+    /**
+     * Creates a grid of the specified dimensions with every cell set to 0.
+     *
+     * @param width  the width of the grid
+     * @param height the height of the grid
+     */
+    public ArrayGridStore(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.grid = new int[width][height];
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int get(int x, int y) {
+        return grid[x][y];
+    }
+
+    @Override
+    public void set(int x, int y, int value) {
+        grid[x][y] = value;
+    }
+
+    @Override
+    public ArrayGridStore copy() {
+        ArrayGridStore copy = new ArrayGridStore(width, height);
+        for (int x = 0; x < width; x++) {
+            System.arraycopy(grid[x], 0, copy.grid[x], 0, height);
+        }
+        return copy;
+    }
+
+    @Override
+    public void fill(int value) {
+        for (int[] column : grid) {
+            Arrays.fill(column, value);
+        }
+    }
+
+    @Override
+    public void paintRow(int y, int fromX, int toX, int value) {
+        for (int x = fromX; x <= toX; x++) {
+            grid[x][y] = value;
+        }
+    }
+
+    @Override
+    public void paintColumn(int x, int fromY, int toY, int value) {
+        Arrays.fill(grid[x], fromY, toY + 1, value);
+    }
+
+    @Override
+    public void readRow(int y, byte[] row) {
+        for (int x = 0; x < width; x++) {
+            row[x] = (byte) grid[x][y];
+        }
+    }
+
+    @Override
+    public void writeRow(int y, byte[] row) {
+        for (int x = 0; x < width; x++) {
+            grid[x][y] = row[x];
+        }
+    }
+
+    @Override
+    public long estimateMemory() {
+        // one array header per column plus the outer array of references
+        return 16 + 16 + 4L * width + (long) width * (16 + 4L * height);
+    }
+}
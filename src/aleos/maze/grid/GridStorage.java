@@ -0,0 +1,36 @@
+package aleos.maze.grid;
+
+import java.util.function.BiFunction;
+
+/**
+ * The available {@link GridStore} backends.
+ */
+public enum GridStorage {
+
+    /**
+     * One {@code int} per cell in a separate array for every column.
+     */
+    ARRAY(ArrayGridStore::new),
+
+    /**
+     * Two bits per cell packed into one contiguous {@code long[]}.
+     */
+    PACKED(PackedGridStore::new);
+
+    private final BiFunction<Integer, Integer, GridStore> factory;
+
+    GridStorage(BiFunction<Integer, Integer, GridStore> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Creates an empty grid of the specified dimensions.
+     *
+     * @param width  the width of the grid
+     * @param height the height of the grid
+     * @return the new grid
+     */
+    public GridStore create(int width, int height) {
+        return factory.apply(width, height);
+    }
+}
@@ -0,0 +1,101 @@
+package aleos.maze.grid;
+
+import java.io.Serializable;
+
+/**
+ * Stores the cell identifiers of a maze grid.
+ * <p>
+ * A cell holds a small identifier (0 to 3). Implementations decide how the identifiers are laid out in memory,
+ * the maze only talks to the grid through this interface.
+ */
+public interface GridStore extends Serializable {
+
+    /**
+     * Returns the width of the grid.
+     *
+     * @return the number of columns
+     */
+    int getWidth();
+
+    /**
+     * Returns the height of the grid.
+     *
+     * @return the number of rows
+     */
+    int getHeight();
+
+    /**
+     * Returns the identifier of a cell.
+     *
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @return the identifier of the cell
+     */
+    int get(int x, int y);
+
+    /**
+     * Sets the identifier of a cell.
+     *
+     * @param x     the x-coordinate of the cell
+     * @param y     the y-coordinate of the cell
+     * @param value the identifier to store
+     */
+    void set(int x, int y, int value);
+
+    /**
+     * Sets every cell of the grid to the same identifier.
+     *
+     * @param value the identifier to store
+     */
+    void fill(int value);
+
+    /**
+     * Sets a horizontal run of cells to the same identifier.
+     *
+     * @param y     the row of the run
+     * @param fromX the first column of the run, inclusive
+     * @param toX   the last column of the run, inclusive
+     * @param value the identifier to store
+     */
+    void paintRow(int y, int fromX, int toX, int value);
+
+    /**
+     * Sets a vertical run of cells to the same identifier.
+     *
+     * @param x     the column of the run
+     * @param fromY the first row of the run, inclusive
+     * @param toY   the last row of the run, inclusive
+     * @param value the identifier to store
+     */
+    void paintColumn(int x, int fromY, int toY, int value);
+
+    /**
+     * Copies the identifiers of a whole row into the given buffer.
+     *
+     * @param y   the row to read
+     * @param row the buffer receiving the identifiers, at least {@link #getWidth()} long
+     */
+    void readRow(int y, byte[] row);
+
+    /**
+     * Replaces the identifiers of a whole row with the ones in the given buffer.
+     *
+     * @param y   the row to write
+     * @param row the buffer holding the identifiers, at least {@link #getWidth()} long
+     */
+    void writeRow(int y, byte[] row);
+
+    /**
+     * Returns a copy of the grid that shares no mutable state with it, so changes to either do not show in the other.
+     *
+     * @return the copy of the grid
+     */
+    GridStore copy();
+
+    /**
+     * Estimates the number of heap bytes retained by this grid.
+     *
+     * @return the estimated size in bytes
+     */
+    long estimateMemory();
+}
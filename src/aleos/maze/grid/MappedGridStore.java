@@ -0,0 +1,234 @@
+package aleos.maze.grid;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Serves the grid of a saved maze straight from the memory-mapped body of a maze file, one bit per cell that is set
+ * for a wall.
+ * <p>
+ * The file is mapped read-only in chunks of 1 GiB, so the maze may be larger than the heap and its pages are
+ * shared through the OS page cache with every process reading the same file. Cells changed after loading, such as
+ * the painted escape path or opened walls, are never written back to the file: the first change inside a page of
+ * {@value #PAGE_SIZE} consecutive cells copies that page onto the heap with one byte per cell, and the page is
+ * read from the heap from then on. Filling the grid hides the whole file, and its cells then read as the fill value
+ * until they are changed again.
+ */
+public class MappedGridStore implements GridStore {
+
+    /**
+     * The number of bits addressing a byte inside one mapped chunk.
+     */
+    private static final int CHUNK_BITS = 30;
+
+    private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+
+    /**
+     * The number of bits addressing a cell inside one page.
+     */
+    private static final int PAGE_BITS = 12;
+
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final int width;
+    private final int height;
+    private final MappedByteBuffer[] chunks;
+    private final int wallIdentifier;
+    private final int passageIdentifier;
+
+    /**
+     * The pages changed since the maze was mapped, indexed by {@code (y * width + x) >> PAGE_BITS}, or null for a
+     * page still read from the file.
+     */
+    private final byte[][] pages;
+    private int changedPages;
+
+    /**
+     * Whether the grid has been filled, which hides the file behind {@link #fillValue}.
+     */
+    private boolean filled;
+    private int fillValue;
+
+    private MappedGridStore(int width, int height, MappedByteBuffer[] chunks, int wallIdentifier,
+                            int passageIdentifier) {
+        this.width = width;
+        this.height = height;
+        this.chunks = chunks;
+        this.wallIdentifier = wallIdentifier;
+        this.passageIdentifier = passageIdentifier;
+        this.pages = new byte[Math.toIntExact(((long) width * height + PAGE_MASK) >>> PAGE_BITS)][];
+    }
+
+    /**
+     * Maps the body of a maze file.
+     *
+     * @param channel           the channel of the maze file, it may be closed once the grid is mapped
+     * @param offset            the position of the body in the file
+     * @param width             the width of the grid
+     * @param height            the height of the grid
+     * @param wallIdentifier    the identifier returned for the cells whose bit is set
+     * @param passageIdentifier the identifier returned for the other cells
+     * @return the mapped grid
+     * @throws IOException if mapping fails
+     */
+    public static MappedGridStore map(FileChannel channel, long offset, int width, int height, int wallIdentifier,
+                                      int passageIdentifier) throws IOException {
+        long bodySize = ((long) width * height + Byte.SIZE - 1) / Byte.SIZE;
+        if (channel.size() < offset + bodySize) {
+            throw new IOException("Truncated maze file");
+        }
+
+        int chunkCount = (int) ((bodySize + CHUNK_MASK) >>> CHUNK_BITS);
+        MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long start = (long) i << CHUNK_BITS;
+            long size = Math.min(1L << CHUNK_BITS, bodySize - start);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + start, size);
+        }
+
+        return new MappedGridStore(width, height, chunks, wallIdentifier, passageIdentifier);
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int get(int x, int y) {
+        long position = (long) y * width + x;
+        byte[] page = pages[(int) (position >>> PAGE_BITS)];
+        return page != null ? page[(int) position & PAGE_MASK] : mappedValue(position);
+    }
+
+    @Override
+    public void set(int x, int y, int value) {
+        long position = (long) y * width + x;
+        changedPage(position)[(int) position & PAGE_MASK] = (byte) value;
+    }
+
+    /**
+     * Returns a copy of the grid that maps the same read-only file and copies only the changed pages.
+     *
+     * @return the copy of the grid
+     */
+    @Override
+    public MappedGridStore copy() {
+        MappedGridStore copy = new MappedGridStore(width, height, chunks, wallIdentifier, passageIdentifier);
+        for (int i = 0; i < pages.length; i++) {
+            if (pages[i] != null) {
+                copy.pages[i] = pages[i].clone();
+            }
+        }
+        copy.changedPages = changedPages;
+        copy.filled = filled;
+        copy.fillValue = fillValue;
+        return copy;
+    }
+
+    @Override
+    public void fill(int value) {
+        // the file is left untouched, every cell now reads as the fill value until it is changed again
+        filled = true;
+        fillValue = value;
+        Arrays.fill(pages, null);
+        changedPages = 0;
+    }
+
+    @Override
+    public void paintRow(int y, int fromX, int toX, int value) {
+        for (int x = fromX; x <= toX; x++) {
+            set(x, y, value);
+        }
+    }
+
+    @Override
+    public void paintColumn(int x, int fromY, int toY, int value) {
+        for (int y = fromY; y <= toY; y++) {
+            set(x, y, value);
+        }
+    }
+
+    @Override
+    public void readRow(int y, byte[] row) {
+        long rowStart = (long) y * width;
+        // the row is copied in runs that lie inside one page each
+        for (int x = 0; x < width; ) {
+            long position = rowStart + x;
+            int run = Math.min(width - x, PAGE_SIZE - ((int) position & PAGE_MASK));
+            byte[] page = pages[(int) (position >>> PAGE_BITS)];
+            if (page != null) {
+                System.arraycopy(page, (int) position & PAGE_MASK, row, x, run);
+            } else {
+                for (int i = 0; i < run; i++) {
+                    row[x + i] = (byte) mappedValue(position + i);
+                }
+            }
+            x += run;
+        }
+    }
+
+    @Override
+    public void writeRow(int y, byte[] row) {
+        long rowStart = (long) y * width;
+        for (int x = 0; x < width; ) {
+            long position = rowStart + x;
+            int run = Math.min(width - x, PAGE_SIZE - ((int) position & PAGE_MASK));
+            System.arraycopy(row, x, changedPage(position), (int) position & PAGE_MASK, run);
+            x += run;
+        }
+    }
+
+    @Override
+    public long estimateMemory() {
+        // the mapped file lives outside the heap, only the page table and the changed pages are counted
+        return 64 + 8L * pages.length + (long) PAGE_SIZE * changedPages;
+    }
+
+    /**
+     * Returns the changed page holding the specified cell, copying it from the file on the first change.
+     */
+    private byte[] changedPage(long position) {
+        int index = (int) (position >>> PAGE_BITS);
+        byte[] page = pages[index];
+        if (page == null) {
+            page = new byte[PAGE_SIZE];
+            long pageStart = (long) index << PAGE_BITS;
+            int size = (int) Math.min(PAGE_SIZE, (long) width * height - pageStart);
+            for (int i = 0; i < size; i++) {
+                page[i] = (byte) mappedValue(pageStart + i);
+            }
+            pages[index] = page;
+            changedPages++;
+        }
+        return page;
+    }
+
+    private int mappedValue(long position) {
+        if (filled) {
+            return fillValue;
+        }
+        return isWall(position) ? wallIdentifier : passageIdentifier;
+    }
+
+    private boolean isWall(long position) {
+        long byteIndex = position >>> 3;
+        byte bits = chunks[(int) (byteIndex >>> CHUNK_BITS)].get((int) (byteIndex & CHUNK_MASK));
+        return (bits >>> (position & 7) & 1) != 0;
+    }
+
+    private void writeObject(ObjectOutputStream output) throws IOException {
+        throw new NotSerializableException("A mapped maze grid cannot be serialized, save it with MazeFile instead");
+    }
+}
@@ -0,0 +1,160 @@
+package aleos.maze.grid;
+
+import java.util.Arrays;
+
+/**
+ * Stores the maze grid with two bits per cell in one contiguous {@code long[]}.
+ * <p>
+ * Every row starts at a word boundary and takes {@code ceil(width / 32)} words, cell {@code x} of a row lives
+ * in bits {@code 2 * (x % 32)} and {@code 2 * (x % 32) + 1} of word {@code x / 32}. Runs of cells inside a row
+ * are filled and decoded a whole word at a time.
+ */
+public class PackedGridStore implements GridStore {
+
+    /**
+     * The number of bits per cell.
+     */
+    private static final int BITS_PER_CELL = 2;
+
+    /**
+     * The number of cells packed into one word.
+     */
+    private static final int CELLS_PER_WORD = Long.SIZE / BITS_PER_CELL;
+
+    /**
+     * The mask selecting the identifier of a single cell.
+     */
+    private static final long CELL_MASK = (1L << BITS_PER_CELL) - 1;
+
+    /**
+     * The word with every cell set to 1; multiplying it by an identifier repeats the identifier in every cell.
+     */
+    private static final long REPEAT_PATTERN = 0x5555_5555_5555_5555L;
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    /**
+     * Creates a grid of the specified dimensions with every cell set to 0.
+     *
+     * @param width  the width of the grid
+     * @param height the height of the grid
+     */
+    public PackedGridStore(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + CELLS_PER_WORD - 1) / CELLS_PER_WORD;
+        this.words = new long[Math.multiplyExact(wordsPerRow, height)];
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int get(int x, int y) {
+        long word = words[wordIndex(x, y)];
+        return (int) (word >>> shift(x) & CELL_MASK);
+    }
+
+    @Override
+    public void set(int x, int y, int value) {
+        int index = wordIndex(x, y);
+        int shift = shift(x);
+        words[index] = words[index] & ~(CELL_MASK << shift) | ((value & CELL_MASK) << shift);
+    }
+
+    @Override
+    public PackedGridStore copy() {
+        PackedGridStore copy = new PackedGridStore(width, height);
+        System.arraycopy(words, 0, copy.words, 0, words.length);
+        return copy;
+    }
+
+    @Override
+    public void fill(int value) {
+        Arrays.fill(words, pattern(value));
+    }
+
+    @Override
+    public void paintRow(int y, int fromX, int toX, int value) {
+        long pattern = pattern(value);
+        int rowStart = y * wordsPerRow;
+        int firstWord = rowStart + fromX / CELLS_PER_WORD;
+        int lastWord = rowStart + toX / CELLS_PER_WORD;
+
+        long firstMask = -1L << shift(fromX);
+        long lastMask = -1L >>> (Long.SIZE - shift(toX) - BITS_PER_CELL);
+
+        if (firstWord == lastWord) {
+            long mask = firstMask & lastMask;
+            words[firstWord] = words[firstWord] & ~mask | pattern & mask;
+            return;
+        }
+
+        words[firstWord] = words[firstWord] & ~firstMask | pattern & firstMask;
+        Arrays.fill(words, firstWord + 1, lastWord, pattern);
+        words[lastWord] = words[lastWord] & ~lastMask | pattern & lastMask;
+    }
+
+    @Override
+    public void paintColumn(int x, int fromY, int toY, int value) {
+        int shift = shift(x);
+        long clear = ~(CELL_MASK << shift);
+        long bits = (value & CELL_MASK) << shift;
+        for (int index = wordIndex(x, fromY), last = wordIndex(x, toY); index <= last; index += wordsPerRow) {
+            words[index] = words[index] & clear | bits;
+        }
+    }
+
+    @Override
+    public void readRow(int y, byte[] row) {
+        int index = y * wordsPerRow;
+        for (int x = 0; x < width; index++) {
+            long word = words[index];
+            int end = Math.min(width, x + CELLS_PER_WORD);
+            for (; x < end; x++) {
+                row[x] = (byte) (word & CELL_MASK);
+                word >>>= BITS_PER_CELL;
+            }
+        }
+    }
+
+    @Override
+    public void writeRow(int y, byte[] row) {
+        int index = y * wordsPerRow;
+        for (int x = 0; x < width; index++) {
+            int end = Math.min(width, x + CELLS_PER_WORD);
+            long word = 0;
+            for (int shift = 0; x < end; x++, shift += BITS_PER_CELL) {
+                word |= (row[x] & CELL_MASK) << shift;
+            }
+            words[index] = word;
+        }
+    }
+
+    @Override
+    public long estimateMemory() {
+        return 32 + 16 + 8L * words.length;
+    }
+
+    private int wordIndex(int x, int y) {
+        return y * wordsPerRow + x / CELLS_PER_WORD;
+    }
+
+    private static int shift(int x) {
+        return (x % CELLS_PER_WORD) * BITS_PER_CELL;
+    }
+
+    private static long pattern(int value) {
+        return (value & CELL_MASK) * REPEAT_PATTERN;
+    }
+}
@@ -0,0 +1,58 @@
+package aleos.maze.metrics;
+
+/**
+ * The counters recorded inside the phases.
+ */
+public enum Counter {
+
+    /**
+     * The nodes taken off the queue by the shortest path solvers.
+     */
+    NODES_POPPED("solve.nodesPopped", false),
+
+    /**
+     * The distance improvements made by the shortest path solvers.
+     */
+    RELAXATIONS("solve.relaxations", false),
+
+    /**
+     * The largest number of entries a solver queue has held at once.
+     */
+    QUEUE_PEAK("solve.queuePeak", true),
+
+    /**
+     * The nodes expanded by point-to-point searches.
+     */
+    EXPANDED_NODES("search.expandedNodes", false),
+
+    /**
+     * The grid cells drawn as text.
+     */
+    RENDERED_CELLS("render.cells", false);
+
+    private final String key;
+    private final boolean maximum;
+
+    Counter(String key, boolean maximum) {
+        this.key = key;
+        this.maximum = maximum;
+    }
+
+    /**
+     * Returns the name of the counter in metric dumps.
+     *
+     * @return the key of the counter
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Checks if the counter keeps the largest recorded value instead of their sum.
+     *
+     * @return true for a maximum, false for a sum
+     */
+    public boolean isMaximum() {
+        return maximum;
+    }
+}
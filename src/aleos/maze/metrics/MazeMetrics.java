@@ -0,0 +1,273 @@
+package aleos.maze.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the timings, allocations and counters of the phases of generation, solving, rendering and persistence.
+ * <p>
+ * The metrics are off unless the JVM is started with {@code -Dmaze.metrics=true} or they are switched on at run
+ * time, e.g. by the periodic {@link MetricsReporter}. While they are off, a timed phase costs one read
+ * of a volatile flag and counters are not touched; hot loops count into locals and report once per call.
+ * <p>
+ * Nested phases are timed inclusively, so the time of {@link Phase#GENERATE} contains the time of
+ * {@link Phase#CARVE}. Allocations are those of the thread running the phase, work handed to other threads (the
+ * tiles of the parallel generator, for instance) is timed but its allocations are not counted.
+ */
+public final class MazeMetrics {
+
+    /**
+     * The domain of the MBeans of the metrics.
+     */
+    public static final String DOMAIN = "aleos.maze";
+
+    private static volatile boolean enabled = Boolean.getBoolean("maze.metrics");
+
+    private static final Map<Phase, PhaseStats> PHASES = new EnumMap<>(Phase.class);
+
+    private static final Map<Counter, LongAdder> SUMS = new EnumMap<>(Counter.class);
+
+    private static final Map<Counter, AtomicLong> MAXIMUMS = new EnumMap<>(Counter.class);
+
+    static {
+        for (Phase phase : Phase.values()) {
+            PHASES.put(phase, new PhaseStats());
+        }
+        for (Counter counter : Counter.values()) {
+            if (counter.isMaximum()) {
+                MAXIMUMS.put(counter, new AtomicLong());
+            } else {
+                SUMS.put(counter, new LongAdder());
+            }
+        }
+    }
+
+    private MazeMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        MazeMetrics.enabled = enabled;
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @param phase the phase about to run
+     * @return the span to close when the phase ends
+     */
+    public static MetricSpan begin(Phase phase) {
+        if (!enabled) {
+            return MetricSpan.NONE;
+        }
+        return new MetricSpan(phase, currentThreadAllocatedBytes());
+    }
+
+    /**
+     * Adds to a counter, or raises it to the value if it keeps a maximum.
+     *
+     * @param counter the counter to update
+     * @param value   the value to record
+     */
+    public static void record(Counter counter, long value) {
+        if (!enabled) {
+            return;
+        }
+
+        if (counter.isMaximum()) {
+            MAXIMUMS.get(counter).accumulateAndGet(value, Math::max);
+        } else {
+            SUMS.get(counter).add(value);
+        }
+    }
+
+    static void record(Phase phase, long nanos, long allocatedBytes) {
+        PHASES.get(phase).record(nanos, allocatedBytes);
+    }
+
+    /**
+     * Returns the current value of a counter.
+     *
+     * @param counter the counter
+     * @return the sum or the maximum recorded so far
+     */
+    public static long get(Counter counter) {
+        return counter.isMaximum() ? MAXIMUMS.get(counter).get() : SUMS.get(counter).sum();
+    }
+
+    /**
+     * Returns the statistics of a phase.
+     *
+     * @param phase the phase
+     * @return the statistics, updated live
+     */
+    public static PhaseMXBean get(Phase phase) {
+        return PHASES.get(phase);
+    }
+
+    /**
+     * Sets every phase and counter back to zero.
+     */
+    public static void reset() {
+        PHASES.values().forEach(PhaseStats::reset);
+        SUMS.values().forEach(LongAdder::reset);
+        MAXIMUMS.values().forEach(maximum -> maximum.set(0));
+    }
+
+    /**
+     * Registers the MBeans of the metrics with the platform MBean server, once per JVM.
+     */
+    public static synchronized void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new Management(), new ObjectName(DOMAIN + ":type=Metrics"));
+            for (Phase phase : Phase.values()) {
+                server.registerMBean(PHASES.get(phase), new ObjectName(DOMAIN + ":type=Phase,name=" + phase.getKey()));
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            // registered before, the beans read the same statistics
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the metrics MBeans", e);
+        }
+    }
+
+    /**
+     * Formats the metrics as a table, one line per phase that has run, followed by the counters.
+     *
+     * @return the metrics as text
+     */
+    public static String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("maze metrics at %s%n", Instant.now()));
+        text.append(String.format("%-20s %10s %12s %12s %12s %14s%n",
+                "phase", "count", "total ms", "mean us", "max us", "allocated KB"));
+
+        for (Phase phase : Phase.values()) {
+            PhaseStats stats = PHASES.get(phase);
+            if (stats.getCount() == 0) continue;
+
+            long allocated = stats.getAllocatedBytes();
+            text.append(String.format("%-20s %10d %12.1f %12.1f %12.1f %14s%n",
+                    phase.getKey(),
+                    stats.getCount(),
+                    stats.getTotalNanos() / 1e6,
+                    stats.getMeanNanos() / 1e3,
+                    stats.getMaxNanos() / 1e3,
+                    allocated < 0 ? "n/a" : Long.toString(allocated / 1024)));
+        }
+
+        for (Map.Entry<String, Long> counter : counters().entrySet()) {
+            text.append(String.format("%-20s %10d%n", counter.getKey(), counter.getValue()));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Formats the metrics as a single-line JSON object.
+     *
+     * @return the metrics as JSON
+     */
+    public static String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"timestamp\":\"").append(Instant.now()).append("\",\"phases\":{");
+
+        String separator = "";
+        for (Phase phase : Phase.values()) {
+            PhaseStats stats = PHASES.get(phase);
+            json.append(separator).append('"').append(phase.getKey()).append("\":{")
+                    .append("\"count\":").append(stats.getCount())
+                    .append(",\"totalNanos\":").append(stats.getTotalNanos())
+                    .append(",\"meanNanos\":").append(stats.getMeanNanos())
+                    .append(",\"maxNanos\":").append(stats.getMaxNanos())
+                    .append(",\"allocatedBytes\":").append(stats.getAllocatedBytes())
+                    .append('}');
+            separator = ",";
+        }
+
+        json.append("},\"counters\":{");
+        separator = "";
+        for (Map.Entry<String, Long> counter : counters().entrySet()) {
+            json.append(separator).append('"').append(counter.getKey()).append("\":").append(counter.getValue());
+            separator = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    private static Map<String, Long> counters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        for (Counter counter : Counter.values()) {
+            counters.put(counter.getKey(), get(counter));
+        }
+        return counters;
+    }
+
+    static boolean isAllocationMeasured() {
+        return Allocations.BEAN != null;
+    }
+
+    static long currentThreadAllocatedBytes() {
+        return Allocations.BEAN == null ? 0 : Allocations.BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Looks the allocation counters up on first use, so that disabled metrics never load the management classes.
+     */
+    private static class Allocations {
+
+        static final com.sun.management.ThreadMXBean BEAN = find();
+
+        private static com.sun.management.ThreadMXBean find() {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean allocations
+                    && allocations.isThreadAllocatedMemorySupported()
+                    && allocations.isThreadAllocatedMemoryEnabled()) {
+                return allocations;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The MBean switching the metrics and exposing the counters.
+     */
+    private static class Management implements MazeMetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return MazeMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            MazeMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            return counters();
+        }
+
+        @Override
+        public String dumpJson() {
+            return toJson();
+        }
+
+        @Override
+        public void reset() {
+            MazeMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package aleos.maze.metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface switching the metrics on and off and exposing the counters.
+ */
+public interface MazeMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns every counter by its key.
+     *
+     * @return the counter values
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Returns all the metrics as a JSON document.
+     *
+     * @return the metrics
+     */
+    String dumpJson();
+
+    /**
+     * Sets every phase and counter back to zero.
+     */
+    void reset();
+}
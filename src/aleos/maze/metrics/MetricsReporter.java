@@ -0,0 +1,95 @@
+package aleos.maze.metrics;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dumps the {@link MazeMetrics} periodically from a daemon thread, as text or as one JSON object per line.
+ */
+public class MetricsReporter implements AutoCloseable {
+
+    /**
+     * The layout of a dump.
+     */
+    public enum Format {
+        TEXT,
+        JSON
+    }
+
+    private final Format format;
+    private final PrintStream output;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Starts dumping the metrics.
+     *
+     * @param format   the layout of the dumps
+     * @param interval the time between two dumps
+     * @param output   the destination of the dumps
+     */
+    public MetricsReporter(Format format, Duration interval, PrintStream output) {
+        this.format = format;
+        this.output = output;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "maze-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = interval.toMillis();
+        scheduler.scheduleAtFixedRate(this::dump, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts a reporter configured by system properties, if {@code maze.metrics.interval} is set: the interval
+     * in seconds, {@code maze.metrics.format} ({@code text} or {@code json}, text by default) and
+     * {@code maze.metrics.output} (a file appended to, the standard error by default). The metrics are switched
+     * on, and a last dump is written when the JVM exits.
+     *
+     * @throws IOException if the output file cannot be opened
+     */
+    public static void startFromProperties() throws IOException {
+        String interval = System.getProperty("maze.metrics.interval");
+        if (interval == null) {
+            return;
+        }
+
+        Format format = Format.valueOf(System.getProperty("maze.metrics.format", "text").toUpperCase(Locale.ROOT));
+        String file = System.getProperty("maze.metrics.output");
+        PrintStream output = file == null
+                ? System.err
+                : new PrintStream(new FileOutputStream(file, true), true, StandardCharsets.UTF_8);
+
+        MazeMetrics.setEnabled(true);
+        MetricsReporter reporter = new MetricsReporter(format, Duration.ofSeconds(Long.parseLong(interval)), output);
+        Runtime.getRuntime().addShutdownHook(new Thread(reporter::close, "maze-metrics-final-dump"));
+    }
+
+    /**
+     * Writes the current metrics once.
+     */
+    public void dump() {
+        if (format == Format.JSON) {
+            output.println(MazeMetrics.toJson());
+        } else {
+            output.print(MazeMetrics.toText());
+        }
+        output.flush();
+    }
+
+    /**
+     * Stops the periodic dumps and writes a last one.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        dump();
+    }
+}
@@ -0,0 +1,67 @@
+package aleos.maze.metrics;
+
+/**
+ * The timed phases of working with a maze.
+ */
+public enum Phase {
+
+    /**
+     * A whole call of {@code Maze.generate}, including carving and entrances.
+     */
+    GENERATE("generate"),
+
+    /**
+     * The generation algorithm carving the passages into the grid.
+     */
+    CARVE("generate.carve"),
+
+    /**
+     * Opening the entrance and the exit in the outer wall.
+     */
+    CREATE_ENTRANCES("generate.entrances"),
+
+    /**
+     * Finding the shortest paths from the entrance to every node.
+     */
+    SOLVE("solve"),
+
+    /**
+     * A point-to-point search between two nodes.
+     */
+    SEARCH("search"),
+
+    /**
+     * Computing the analytics of a maze.
+     */
+    ANALYZE("analyze"),
+
+    /**
+     * Drawing the maze as text.
+     */
+    RENDER("render"),
+
+    /**
+     * Writing a maze file.
+     */
+    SAVE("save"),
+
+    /**
+     * Reading or mapping a maze file.
+     */
+    LOAD("load");
+
+    private final String key;
+
+    Phase(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Returns the name of the phase in metric dumps and MBean names.
+     *
+     * @return the key of the phase
+     */
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,20 @@
+package aleos.maze.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Flight Recorder event of one timed {@link Phase}, committed only while a recording has it enabled.
+ */
+@Name("aleos.maze.Phase")
+@Label("Maze Phase")
+@Category("Maze Runner")
+@Description("A phase of maze generation, solving, rendering or persistence")
+class PhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+}
@@ -0,0 +1,22 @@
+package aleos.maze.metrics;
+
+/**
+ * The management interface of the statistics of one {@link Phase}.
+ */
+public interface PhaseMXBean {
+
+    long getCount();
+
+    long getTotalNanos();
+
+    long getMaxNanos();
+
+    long getMeanNanos();
+
+    /**
+     * Returns the bytes allocated by the threads running the phase, or -1 if the runtime cannot measure them.
+     *
+     * @return the allocated bytes
+     */
+    long getAllocatedBytes();
+}
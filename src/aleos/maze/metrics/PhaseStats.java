@@ -0,0 +1,57 @@
+package aleos.maze.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the runs of one {@link Phase}, updated by any number of threads.
+ */
+class PhaseStats implements PhaseMXBean {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    void record(long nanos, long allocated) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        if (allocated > 0) {
+            allocatedBytes.add(allocated);
+        }
+    }
+
+    void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+        allocatedBytes.reset();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public long getMeanNanos() {
+        long runs = count.sum();
+        return runs == 0 ? 0 : totalNanos.sum() / runs;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return MazeMetrics.isAllocationMeasured() ? allocatedBytes.sum() : -1;
+    }
+}
@@ -0,0 +1,114 @@
+package aleos.maze.server;
+
+import aleos.maze.general.Maze;
+import aleos.maze.general.Palette;
+import aleos.maze.generator.GenerationAlgorithm;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Describes the maze asked for by a request, parsed from the query string of its URI.
+ * <p>
+ * Every parameter is optional:
+ * <ul>
+ *     <li>{@code size} - the size of the maze, 25 by default</li>
+ *     <li>{@code width}, {@code height} - the width or the height of a rectangular maze, the size by default</li>
+ *     <li>{@code algorithm} - the generation algorithm, Prim's by default</li>
+ *     <li>{@code seed} - the seed of the maze, a random one by default; it is returned in the {@code X-Maze-Seed}
+ *     header, so any maze can be asked for again</li>
+ *     <li>{@code palette} - {@code unicode}, {@code ascii} or {@code compact}, for drawn mazes, unicode by default</li>
+ *     <li>{@code body} - whether a saved maze holds its grid ({@code true}) or only its seed, true by default</li>
+ * </ul>
+ */
+class MazeRequest {
+
+    private int size = 25;
+    private int width;
+    private int height;
+    private GenerationAlgorithm algorithm = GenerationAlgorithm.PRIM;
+    private long seed = ThreadLocalRandom.current().nextLong();
+    private Palette palette = Palette.UNICODE;
+    private boolean body = true;
+
+    private MazeRequest() {
+    }
+
+    /**
+     * Parses a request from a query string.
+     *
+     * @param query   the raw query string of the request URI, or null if it has none
+     * @param maxSize the largest size a request may ask for
+     * @return the request
+     * @throws IllegalArgumentException if a parameter is malformed or unknown, or the size is out of range
+     */
+    static MazeRequest parse(String query, int maxSize) {
+        MazeRequest request = new MazeRequest();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.isEmpty()) continue;
+
+                int separator = pair.indexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Expected key=value: " + pair);
+                }
+                request.set(decode(pair.substring(0, separator)), decode(pair.substring(separator + 1)));
+            }
+        }
+
+        if (request.width == 0) {
+            request.width = request.size;
+        }
+        if (request.height == 0) {
+            request.height = request.size;
+        }
+        if (Math.min(request.width, request.height) < 5 || Math.max(request.width, request.height) > maxSize) {
+            throw new IllegalArgumentException("The size must be between 5 and " + maxSize + ": "
+                    + request.width + "x" + request.height);
+        }
+        return request;
+    }
+
+    private void set(String key, String value) {
+        switch (key) {
+            case "size" -> size = Integer.parseInt(value);
+            case "width" -> width = Integer.parseInt(value);
+            case "height" -> height = Integer.parseInt(value);
+            case "algorithm" -> algorithm = GenerationAlgorithm.getAlgorithm(value)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown algorithm: " + value));
+            case "seed" -> seed = Long.parseLong(value);
+            case "palette" -> palette = Palette.valueOf(value.toUpperCase(Locale.ROOT));
+            case "body" -> body = Boolean.parseBoolean(value);
+            default -> throw new IllegalArgumentException("Unknown parameter: " + key);
+        }
+    }
+
+    private static String decode(String component) {
+        return URLDecoder.decode(component, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Generates the maze asked for.
+     *
+     * @return the maze
+     */
+    Maze generate() {
+        Maze maze = new Maze();
+        maze.generate(width, height, algorithm, seed);
+        return maze;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    Palette getPalette() {
+        return palette;
+    }
+
+    boolean hasBody() {
+        return body;
+    }
+}
@@ -0,0 +1,235 @@
+package aleos.maze.server;
+
+import aleos.maze.concurrent.WorkerExecutors;
+import aleos.maze.general.Cell;
+import aleos.maze.general.Maze;
+import aleos.maze.general.MazeFile;
+import aleos.maze.solver.MazePath;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Serves mazes over HTTP from an embedded server.
+ * <p>
+ * The server is stateless: a maze is named by its dimensions, algorithm and seed (see {@link MazeRequest}), generated
+ * for the request and dropped after it, so any number of clients may ask for mazes at once. The endpoints answer
+ * {@code GET} requests:
+ * <ul>
+ *     <li>{@code /generate} - the description of the maze as a JSON object</li>
+ *     <li>{@code /render} - the maze drawn as text</li>
+ *     <li>{@code /solve} - the maze drawn as text with its escape path, whose length and turns are returned in the
+ *     {@code X-Path-Length} and {@code X-Path-Turns} headers</li>
+ *     <li>{@code /save} - the maze in the {@link MazeFile} format</li>
+ * </ul>
+ * Mazes are written to the connection as they are drawn or encoded, in chunks, and never built as a whole in
+ * memory. Connections are kept alive between requests. Every request runs on a virtual thread when the runtime
+ * supports them and on a fixed pool of platform threads otherwise.
+ */
+public class MazeServer implements AutoCloseable {
+
+    /**
+     * The largest size of a maze served by default.
+     */
+    public static final int DEFAULT_MAX_SIZE = 2001;
+
+    /**
+     * The number of connections waiting to be accepted before new ones are refused.
+     */
+    private static final int BACKLOG = 4096;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final System.Logger LOGGER = System.getLogger(MazeServer.class.getName());
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int maxSize;
+
+    /**
+     * Creates a server listening on the specified address, not yet started.
+     *
+     * @param address         the address to listen on, port 0 picks a free port
+     * @param maxSize         the largest size of a maze a request may ask for
+     * @param platformThreads the number of threads serving requests when virtual threads are not available
+     * @throws IOException if the address cannot be bound
+     */
+    public MazeServer(InetSocketAddress address, int maxSize, int platformThreads) throws IOException {
+        this.maxSize = maxSize;
+        this.server = HttpServer.create(address, BACKLOG);
+        this.executor = WorkerExecutors.newExecutor(platformThreads);
+        server.setExecutor(executor);
+
+        server.createContext("/generate", handler(this::generate));
+        server.createContext("/render", handler(this::render));
+        server.createContext("/solve", handler(this::solve));
+        server.createContext("/save", handler(this::save));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the bound port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, lets the running ones finish for up to a second, and stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    private void generate(HttpExchange exchange, MazeRequest request) throws IOException {
+        Maze maze = request.generate();
+        Cell entrance = maze.getEntrance().getCoordinate();
+        Cell exit = maze.getExit().getCoordinate();
+
+        String description = "{\"width\":" + maze.getGrid().getWidth() +
+                ",\"height\":" + maze.getGrid().getHeight() +
+                ",\"algorithm\":\"" + maze.getAlgorithm() + "\"" +
+                ",\"seed\":" + request.getSeed() +
+                ",\"entrance\":[" + entrance.getX() + "," + entrance.getY() + "]" +
+                ",\"exit\":[" + exit.getX() + "," + exit.getY() + "]}";
+        byte[] body = description.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        respond(exchange, request, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private void render(HttpExchange exchange, MazeRequest request) throws IOException {
+        Maze maze = request.generate();
+        streamText(exchange, request, maze);
+    }
+
+    private void solve(HttpExchange exchange, MazeRequest request) throws IOException {
+        Maze maze = request.generate();
+        MazePath path = maze.findEscapePath();
+        maze.displayEscapePath(path);
+
+        exchange.getResponseHeaders().set("X-Path-Length", Integer.toString(path.getLength()));
+        exchange.getResponseHeaders().set("X-Path-Turns", Integer.toString(path.getTurnCount()));
+        streamText(exchange, request, maze);
+    }
+
+    private void save(HttpExchange exchange, MazeRequest request) throws IOException {
+        Maze maze = request.generate();
+
+        exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+        respond(exchange, request, 0);
+        try (OutputStream output = new BufferedOutputStream(exchange.getResponseBody(), BUFFER_SIZE)) {
+            if (request.hasBody()) {
+                MazeFile.write(maze, output);
+            } else {
+                MazeFile.writeSeed(maze, output);
+            }
+        }
+    }
+
+    private void streamText(HttpExchange exchange, MazeRequest request, Maze maze) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        respond(exchange, request, 0);
+        try (OutputStream output = new BufferedOutputStream(exchange.getResponseBody(), BUFFER_SIZE)) {
+            maze.render(output, request.getPalette());
+        }
+    }
+
+    /**
+     * Sends the status line and the headers of a successful response.
+     *
+     * @param length the length of the body, or 0 to stream it in chunks
+     */
+    private static void respond(HttpExchange exchange, MazeRequest request, long length) throws IOException {
+        exchange.getResponseHeaders().set("X-Maze-Seed", Long.toString(request.getSeed()));
+        exchange.sendResponseHeaders(200, length);
+    }
+
+    /**
+     * Wraps an endpoint with what every request needs: the method check, parsing the request, and answering
+     * errors with a status instead of dropping the connection.
+     */
+    private HttpHandler handler(Endpoint endpoint) {
+        return exchange -> {
+            try {
+                // the request body is read to its end so that the connection can be reused
+                try (InputStream input = exchange.getRequestBody()) {
+                    input.transferTo(OutputStream.nullOutputStream());
+                }
+
+                if (!exchange.getRequestMethod().equals("GET")) {
+                    exchange.getResponseHeaders().set("Allow", "GET");
+                    fail(exchange, 405, "Only GET is supported");
+                    return;
+                }
+
+                MazeRequest request;
+                try {
+                    request = MazeRequest.parse(exchange.getRequestURI().getRawQuery(), maxSize);
+                } catch (IllegalArgumentException e) {
+                    fail(exchange, 400, e.getMessage());
+                    return;
+                }
+
+                endpoint.handle(exchange, request);
+            } catch (IOException e) {
+                // the client went away, the connection is closed with the exchange
+            } catch (RuntimeException e) {
+                failIfPossible(exchange, e);
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private static void fail(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static void failIfPossible(HttpExchange exchange, RuntimeException e) {
+        // the details stay in the server log, clients only learn that the request failed
+        LOGGER.log(System.Logger.Level.ERROR, "Failed to answer " + exchange.getRequestURI(), e);
+
+        // once the headers are out the status cannot change, closing the exchange cuts the response short
+        if (exchange.getResponseCode() == -1) {
+            try {
+                fail(exchange, 500, "Internal server error");
+            } catch (IOException ignored) {
+                // the client went away
+            }
+        }
+    }
+
+    /**
+     * Answers one kind of request.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+        void handle(HttpExchange exchange, MazeRequest request) throws IOException;
+    }
+}
@@ -0,0 +1,81 @@
+package aleos.maze.solver;
+
+import aleos.maze.general.Direction;
+import aleos.maze.graph.MazeGraph;
+
+/**
+ * Finds the shortest path with A* guided by the Manhattan distance to the target.
+ * <p>
+ * The weight of a maze edge is never less than the Manhattan distance it covers, so the heuristic is consistent
+ * and the search can stop as soon as the target leaves the open set.
+ */
+public class AStarSolver implements PointToPointSolver {
+
+    @Override
+    public PathResult solve(MazeGraph graph, int start, int target) {
+        int size = graph.getWidth() * graph.getHeight();
+        int targetX = graph.x(target);
+        int targetY = graph.y(target);
+
+        // distance + 1 of every reached node, 0 marks a node not reached yet
+        int[] distances = new int[size];
+        int[] parents = new int[size];
+        distances[start] = 1;
+        parents[start] = start;
+
+        // entries are (estimate << 32 | node), entries made stale by a shorter path are skipped when polled
+        LongHeap open = new LongHeap();
+        open.push(entry(heuristic(graph, start, targetX, targetY), start));
+
+        int expandedNodes = 0;
+        while (!open.isEmpty()) {
+            long entry = open.poll();
+            int node = (int) entry;
+            int distance = distances[node] - 1;
+            if ((int) (entry >>> 32) != distance + heuristic(graph, node, targetX, targetY)) continue;
+
+            expandedNodes++;
+            if (node == target) {
+                return buildPath(parents, start, target, distance, expandedNodes);
+            }
+
+            for (Direction direction : Direction.values()) {
+                int next = graph.getNeighbour(node, direction);
+                if (next == -1) continue;
+
+                int newDistance = distance + graph.getEdgeWeight(node, next);
+                if (distances[next] == 0 || newDistance < distances[next] - 1) {
+                    distances[next] = newDistance + 1;
+                    parents[next] = node;
+                    open.push(entry(newDistance + heuristic(graph, next, targetX, targetY), next));
+                }
+            }
+        }
+
+        return PathResult.notFound(expandedNodes);
+    }
+
+    private static int heuristic(MazeGraph graph, int node, int targetX, int targetY) {
+        return Math.abs(graph.x(node) - targetX) + Math.abs(graph.y(node) - targetY);
+    }
+
+    private static long entry(int estimate, int node) {
+        return (long) estimate << 32 | node;
+    }
+
+    private static PathResult buildPath(int[] parents, int start, int target, int distance, int expandedNodes) {
+        int length = 1;
+        for (int node = target; node != start; node = parents[node]) {
+            length++;
+        }
+
+        int[] path = new int[length];
+        int node = target;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = node;
+            node = parents[node];
+        }
+
+        return new PathResult(path, distance, expandedNodes);
+    }
+}
@@ -0,0 +1,90 @@
+package aleos.maze.solver;
+
+import aleos.maze.general.Direction;
+import aleos.maze.graph.MazeGraph;
+
+/**
+ * Finds a path with two breadth-first searches, one from each end, that stop as soon as their frontiers meet.
+ * <p>
+ * The side with the smaller frontier advances by a whole level at a time. A perfect maze has exactly one path
+ * between two nodes, so the first meeting point yields the shortest path; on a maze with loops the path found
+ * has the fewest nodes.
+ */
+public class BidirectionalSolver implements PointToPointSolver {
+
+    @Override
+    public PathResult solve(MazeGraph graph, int start, int target) {
+        if (start == target) {
+            return new PathResult(new int[]{start}, 0, 0);
+        }
+
+        int size = graph.getWidth() * graph.getHeight();
+
+        // parent + 1 of every visited node, 0 marks a node not visited yet
+        int[] forward = new int[size];
+        int[] backward = new int[size];
+        forward[start] = start + 1;
+        backward[target] = target + 1;
+
+        IntQueue forwardQueue = new IntQueue();
+        IntQueue backwardQueue = new IntQueue();
+        forwardQueue.add(start);
+        backwardQueue.add(target);
+
+        int expandedNodes = 0;
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            boolean forwardTurn = forwardQueue.size() <= backwardQueue.size();
+            IntQueue queue = forwardTurn ? forwardQueue : backwardQueue;
+            int[] visited = forwardTurn ? forward : backward;
+            int[] visitedByOtherSide = forwardTurn ? backward : forward;
+
+            for (int level = queue.size(); level > 0; level--) {
+                int node = queue.poll();
+                expandedNodes++;
+
+                for (Direction direction : Direction.values()) {
+                    int next = graph.getNeighbour(node, direction);
+                    if (next == -1 || visited[next] != 0) continue;
+
+                    visited[next] = node + 1;
+                    if (visitedByOtherSide[next] != 0) {
+                        return buildPath(graph, forward, backward, next, expandedNodes);
+                    }
+                    queue.add(next);
+                }
+            }
+        }
+
+        return PathResult.notFound(expandedNodes);
+    }
+
+    private static PathResult buildPath(MazeGraph graph, int[] forward, int[] backward, int meeting, int expandedNodes) {
+        int forwardLength = 1;
+        for (int node = meeting; forward[node] - 1 != node; node = forward[node] - 1) {
+            forwardLength++;
+        }
+        int backwardLength = 0;
+        for (int node = meeting; backward[node] - 1 != node; node = backward[node] - 1) {
+            backwardLength++;
+        }
+
+        int[] path = new int[forwardLength + backwardLength];
+        int node = meeting;
+        for (int i = forwardLength - 1; i >= 0; i--) {
+            path[i] = node;
+            node = forward[node] - 1;
+        }
+        node = meeting;
+        for (int i = forwardLength; i < path.length; i++) {
+            node = backward[node] - 1;
+            path[i] = node;
+        }
+
+        int distance = 0;
+        for (int i = 1; i < path.length; i++) {
+            distance += graph.getEdgeWeight(path[i - 1], path[i]);
+        }
+
+        return new PathResult(path, distance, expandedNodes);
+    }
+}
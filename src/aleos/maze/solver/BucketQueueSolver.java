@@ -0,0 +1,119 @@
+package aleos.maze.solver;
+
+import aleos.maze.general.Direction;
+import aleos.maze.graph.MazeGraph;
+import aleos.maze.metrics.Counter;
+import aleos.maze.metrics.MazeMetrics;
+
+import java.util.Arrays;
+
+/**
+ * Finds the shortest paths with Dial's algorithm.
+ * <p>
+ * Edge weights of a maze are small integers, so nodes are kept in a ring of {@code maxEdgeWeight + 1} buckets,
+ * one per pending distance, instead of a heap. Every node is pushed at most once per improvement and every
+ * bucket is visited once per distance, which makes the search linear in the size of the maze.
+ */
+public class BucketQueueSolver implements MazeSolver {
+
+    /**
+     * The largest edge weight of the graphs to solve, or 0 to take the bound of every solved graph.
+     */
+    private final int maxEdgeWeight;
+
+    /**
+     * Creates a solver sizing its buckets by {@link MazeGraph#getMaxEdgeWeight()} of every solved graph.
+     */
+    public BucketQueueSolver() {
+        this.maxEdgeWeight = 0;
+    }
+
+    /**
+     * Creates a solver for graphs whose edge weights do not exceed the specified value.
+     *
+     * @param maxEdgeWeight the largest edge weight of the graphs to solve
+     */
+    public BucketQueueSolver(int maxEdgeWeight) {
+        if (maxEdgeWeight < 1) {
+            throw new IllegalArgumentException("The maximal edge weight must be positive: " + maxEdgeWeight);
+        }
+        this.maxEdgeWeight = maxEdgeWeight;
+    }
+
+    @Override
+    public ShortestPathTree solve(MazeGraph graph, int source) {
+        ShortestPathTree tree = new ShortestPathTree(source, graph.getWidth() * graph.getHeight());
+
+        int maxEdgeWeight = this.maxEdgeWeight > 0 ? this.maxEdgeWeight : graph.getMaxEdgeWeight();
+        Bucket[] buckets = new Bucket[maxEdgeWeight + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket();
+        }
+
+        buckets[0].push(source);
+        int pending = 1;
+        int peak = 1;
+        long popped = 0;
+        long relaxations = 0;
+
+        for (int distance = 0; pending > 0; distance++) {
+            Bucket bucket = buckets[distance % buckets.length];
+
+            while (!bucket.isEmpty()) {
+                int node = bucket.pop();
+                pending--;
+                popped++;
+
+                // the node was moved to a closer bucket after this entry had been pushed
+                if (tree.getDistance(node) != distance) continue;
+
+                for (Direction direction : Direction.values()) {
+                    int destNode = graph.getNeighbour(node, direction);
+                    if (destNode == -1) continue;
+
+                    int weight = graph.getEdgeWeight(node, destNode);
+                    if (weight > maxEdgeWeight) {
+                        throw new IllegalStateException("Edge weight " + weight + " exceeds " + maxEdgeWeight);
+                    }
+
+                    int newDistance = distance + weight;
+                    if (newDistance < tree.getDistance(destNode)) {
+                        tree.update(destNode, node, newDistance);
+                        buckets[newDistance % buckets.length].push(destNode);
+                        pending++;
+                        relaxations++;
+                        peak = Math.max(peak, pending);
+                    }
+                }
+            }
+        }
+
+        MazeMetrics.record(Counter.NODES_POPPED, popped);
+        MazeMetrics.record(Counter.RELAXATIONS, relaxations);
+        MazeMetrics.record(Counter.QUEUE_PEAK, peak);
+        return tree;
+    }
+
+    /**
+     * A growable stack of node indices.
+     */
+    private static class Bucket {
+        private int[] nodes = new int[16];
+        private int size;
+
+        void push(int node) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+            }
+            nodes[size++] = node;
+        }
+
+        int pop() {
+            return nodes[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
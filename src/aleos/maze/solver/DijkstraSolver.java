@@ -0,0 +1,59 @@
+package aleos.maze.solver;
+
+import aleos.maze.general.Direction;
+import aleos.maze.graph.MazeGraph;
+import aleos.maze.metrics.Counter;
+import aleos.maze.metrics.MazeMetrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Finds the shortest paths with Dijkstra's algorithm on a {@link PriorityQueue} and a map of distances.
+ */
+public class DijkstraSolver implements MazeSolver {
+
+    @Override
+    public ShortestPathTree solve(MazeGraph graph, int source) {
+        ShortestPathTree tree = new ShortestPathTree(source, graph.getWidth() * graph.getHeight());
+
+        // Initialize a map to store the distances of each node from the source
+        Map<Integer, Integer> distances = new HashMap<>();
+        distances.put(source, 0);
+
+        // Queue entries are {distance, node}, entries made stale by a shorter path are skipped when polled
+        PriorityQueue<int[]> pq = new PriorityQueue<>((a, b) -> Integer.compare(a[0], b[0]));
+        pq.offer(new int[]{0, source});
+        int peak = 1;
+        long popped = 0;
+        long relaxations = 0;
+
+        while (!pq.isEmpty()) {
+            int[] entry = pq.poll();
+            popped++;
+            int sourceNode = entry[1];
+            if (entry[0] > distances.get(sourceNode)) continue;
+
+            for (Direction direction : Direction.values()) {
+                int destNode = graph.getNeighbour(sourceNode, direction);
+                if (destNode == -1) continue;
+
+                int newDistance = entry[0] + graph.getEdgeWeight(sourceNode, destNode);
+                int minCurrentDistance = distances.getOrDefault(destNode, Integer.MAX_VALUE);
+                if (newDistance < minCurrentDistance) {
+                    distances.put(destNode, newDistance);
+                    pq.offer(new int[]{newDistance, destNode});
+                    tree.update(destNode, sourceNode, newDistance);
+                    relaxations++;
+                    peak = Math.max(peak, pq.size());
+                }
+            }
+        }
+
+        MazeMetrics.record(Counter.NODES_POPPED, popped);
+        MazeMetrics.record(Counter.RELAXATIONS, relaxations);
+        MazeMetrics.record(Counter.QUEUE_PEAK, peak);
+        return tree;
+    }
+}
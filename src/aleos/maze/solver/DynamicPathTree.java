@@ -0,0 +1,184 @@
+package aleos.maze.solver;
+
+import aleos.maze.general.Direction;
+import aleos.maze.graph.MazeGraph;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the shortest paths from a source node up to date while walls of the maze are opened and closed.
+ * <p>
+ * The tree is solved once when it is created. Afterwards every edit of the graph is reported to the tree, which
+ * repairs only the nodes whose distance changes:
+ * <ul>
+ *     <li>an opened wall can only shorten paths, so the improvement is propagated from the end of the new edge
+ *     that got closer, through the nodes that get closer as well;</li>
+ *     <li>a closed wall that is not an edge of the tree changes nothing; closing a tree edge only lengthens the
+ *     paths of the subtree below it, so the subtree is detached and solved again from the nodes around it.</li>
+ * </ul>
+ * The work of a repair is proportional to the number of nodes it touches, not to the size of the maze. The graph
+ * must be a live view of the maze, such as {@link aleos.maze.graph.GridGraph}, whose node set does not change
+ * with the edits.
+ */
+public class DynamicPathTree {
+
+    private final MazeGraph graph;
+    private final ShortestPathTree tree;
+    private final LongHeap heap = new LongHeap();
+    private final IntQueue pending = new IntQueue();
+    private int[] detached = new int[64];
+
+    /**
+     * Solves the shortest paths from the source node.
+     *
+     * @param graph  the live view of the maze graph
+     * @param source the index of the source node
+     */
+    public DynamicPathTree(MazeGraph graph, int source) {
+        this.graph = graph;
+        this.tree = new ShortestPathTree(source, graph.getWidth() * graph.getHeight());
+        heap.push(entry(0, source));
+        propagate();
+    }
+
+    /**
+     * Returns the current shortest paths. The tree is updated in place by every repair.
+     *
+     * @return the tree of shortest paths
+     */
+    public ShortestPathTree getTree() {
+        return tree;
+    }
+
+    /**
+     * Returns the current shortest path from the source to the specified node.
+     *
+     * @param target the index of the target node
+     * @return the path, empty if the target is unreachable
+     */
+    public MazePath getPath(int target) {
+        return MazePath.of(tree, target, graph.getWidth());
+    }
+
+    /**
+     * Repairs the tree after an edge between two nodes has been added to the graph.
+     *
+     * @param first  the index of one end of the new edge
+     * @param second the index of the other end
+     * @return the number of nodes whose path changed
+     */
+    public int edgeAdded(int first, int second) {
+        int weight = graph.getEdgeWeight(first, second);
+        if (relax(first, second, weight) || relax(second, first, weight)) {
+            return propagate();
+        }
+        return 0;
+    }
+
+    /**
+     * Repairs the tree after the edge between two nodes has been removed from the graph.
+     *
+     * @param first  the index of one end of the removed edge
+     * @param second the index of the other end
+     * @return the number of nodes whose path was solved again
+     */
+    public int edgeRemoved(int first, int second) {
+        int root;
+        if (tree.getParent(second) == first) {
+            root = second;
+        } else if (tree.getParent(first) == second) {
+            root = first;
+        } else {
+            return 0;
+        }
+
+        int count = detach(root);
+
+        // every detached node is reattached through its best neighbour that kept its path
+        for (int i = 0; i < count; i++) {
+            int node = detached[i];
+            for (Direction direction : Direction.values()) {
+                int neighbour = graph.getNeighbour(node, direction);
+                if (neighbour == -1 || !tree.isReachable(neighbour)) continue;
+                relax(neighbour, node, graph.getEdgeWeight(neighbour, node));
+            }
+        }
+
+        propagate();
+        return count;
+    }
+
+    /**
+     * Marks the subtree below a node unreachable, keeping its nodes in {@link #detached}.
+     *
+     * @return the number of detached nodes
+     */
+    private int detach(int root) {
+        int count = 0;
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            int node = pending.poll();
+            for (Direction direction : Direction.values()) {
+                int child = graph.getNeighbour(node, direction);
+                if (child != -1 && tree.getParent(child) == node) {
+                    pending.add(child);
+                }
+            }
+
+            if (count == detached.length) {
+                detached = Arrays.copyOf(detached, count * 2);
+            }
+            detached[count++] = node;
+            tree.update(node, ShortestPathTree.NO_PARENT, ShortestPathTree.UNREACHABLE);
+        }
+        return count;
+    }
+
+    /**
+     * Shortens the path to a node through one of its neighbours if that is shorter, queueing the node.
+     *
+     * @return true if the path was shortened
+     */
+    private boolean relax(int from, int to, int weight) {
+        if (!tree.isReachable(from)) {
+            return false;
+        }
+
+        int distance = tree.getDistance(from) + weight;
+        if (distance >= tree.getDistance(to)) {
+            return false;
+        }
+
+        tree.update(to, from, distance);
+        heap.push(entry(distance, to));
+        return true;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the queued nodes until no path can be shortened.
+     *
+     * @return the number of nodes settled
+     */
+    private int propagate() {
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            long entry = heap.poll();
+            int node = (int) entry;
+            // the node got a shorter path after this entry had been pushed
+            if ((int) (entry >>> 32) != tree.getDistance(node)) continue;
+
+            settled++;
+            for (Direction direction : Direction.values()) {
+                int neighbour = graph.getNeighbour(node, direction);
+                if (neighbour != -1) {
+                    relax(node, neighbour, graph.getEdgeWeight(node, neighbour));
+                }
+            }
+        }
+        return settled;
+    }
+
+    private static long entry(int distance, int node) {
+        return (long) distance << 32 | node;
+    }
+}
@@ -0,0 +1,123 @@
+package aleos.maze.solver;
+
+import java.util.Arrays;
+
+/**
+ * A 4-ary min-heap of node indices keyed by {@code int} priorities, which knows where every node sits and so
+ * lowers the key of a queued node in place instead of queueing it twice.
+ * <p>
+ * A node is in the heap at most once. Four children per slot make the heap half as deep as a binary one, and
+ * the children of a slot share a cache line.
+ */
+class IndexedHeap {
+
+    private static final int ARITY = 4;
+
+    /**
+     * The slot of every node in the heap, -1 if the node is not queued.
+     */
+    private final int[] slots;
+    private int[] nodes = new int[64];
+    private int[] keys = new int[64];
+    private int size;
+
+    /**
+     * Creates an empty heap of the nodes {@code 0} to {@code capacity - 1}.
+     *
+     * @param capacity the number of nodes
+     */
+    IndexedHeap(int capacity) {
+        slots = new int[capacity];
+        Arrays.fill(slots, -1);
+    }
+
+    /**
+     * Queues a node with the specified key, or lowers its key if it is queued with a greater one.
+     *
+     * @return true if the node was queued or its key lowered
+     */
+    boolean offer(int node, int key) {
+        int slot = slots[node];
+        if (slot == -1) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            slot = size++;
+        } else if (keys[slot] <= key) {
+            return false;
+        }
+        siftUp(slot, node, key);
+        return true;
+    }
+
+    /**
+     * Removes the node with the least key.
+     *
+     * @return the removed node
+     */
+    int poll() {
+        int top = nodes[0];
+        slots[top] = -1;
+        int last = --size;
+        if (last > 0) {
+            siftDown(nodes[last], keys[last]);
+        }
+        return top;
+    }
+
+    /**
+     * Returns the least key of the heap.
+     */
+    int peekKey() {
+        return keys[0];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void siftUp(int slot, int node, int key) {
+        while (slot > 0) {
+            int parent = (slot - 1) / ARITY;
+            if (keys[parent] <= key) break;
+            move(parent, slot);
+            slot = parent;
+        }
+        place(slot, node, key);
+    }
+
+    private void siftDown(int node, int key) {
+        int slot = 0;
+        while (true) {
+            int first = slot * ARITY + 1;
+            if (first >= size) break;
+
+            int child = first;
+            int end = Math.min(first + ARITY, size);
+            for (int i = first + 1; i < end; i++) {
+                if (keys[i] < keys[child]) {
+                    child = i;
+                }
+            }
+            if (key <= keys[child]) break;
+            move(child, slot);
+            slot = child;
+        }
+        place(slot, node, key);
+    }
+
+    private void move(int from, int to) {
+        place(to, nodes[from], keys[from]);
+    }
+
+    private void place(int slot, int node, int key) {
+        nodes[slot] = node;
+        keys[slot] = key;
+        slots[node] = slot;
+    }
+}
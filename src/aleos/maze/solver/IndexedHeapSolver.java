@@ -0,0 +1,52 @@
+package aleos.maze.solver;
+
+import aleos.maze.general.Direction;
+import aleos.maze.graph.MazeGraph;
+import aleos.maze.metrics.Counter;
+import aleos.maze.metrics.MazeMetrics;
+
+/**
+ * Finds the shortest paths with Dijkstra's algorithm on an indexed 4-ary heap of primitive node indices.
+ * <p>
+ * A node whose path gets shorter has its key lowered where it sits in the heap, so every node is polled exactly
+ * once and the heap never holds more than the frontier of the search. Unlike {@link BucketQueueSolver} the cost
+ * does not grow with the edge weights, which suits mazes weighted by a terrain.
+ */
+public class IndexedHeapSolver implements MazeSolver {
+
+    @Override
+    public ShortestPathTree solve(MazeGraph graph, int source) {
+        int size = graph.getWidth() * graph.getHeight();
+        ShortestPathTree tree = new ShortestPathTree(source, size);
+
+        IndexedHeap heap = new IndexedHeap(size);
+        heap.offer(source, 0);
+        int peak = 1;
+        long popped = 0;
+        long relaxations = 0;
+
+        while (!heap.isEmpty()) {
+            int distance = heap.peekKey();
+            int node = heap.poll();
+            popped++;
+
+            for (Direction direction : Direction.values()) {
+                int destNode = graph.getNeighbour(node, direction);
+                if (destNode == -1) continue;
+
+                int newDistance = distance + graph.getEdgeWeight(node, destNode);
+                if (newDistance < tree.getDistance(destNode)) {
+                    tree.update(destNode, node, newDistance);
+                    heap.offer(destNode, newDistance);
+                    relaxations++;
+                    peak = Math.max(peak, heap.size());
+                }
+            }
+        }
+
+        MazeMetrics.record(Counter.NODES_POPPED, popped);
+        MazeMetrics.record(Counter.RELAXATIONS, relaxations);
+        MazeMetrics.record(Counter.QUEUE_PEAK, peak);
+        return tree;
+    }
+}
@@ -0,0 +1,38 @@
+package aleos.maze.solver;
+
+import java.util.Arrays;
+
+/**
+ * A growable first-in-first-out queue of node indices.
+ */
+class IntQueue {
+    private int[] nodes = new int[16];
+    private int head;
+    private int tail;
+
+    void add(int node) {
+        if (tail == nodes.length) {
+            if (head > nodes.length / 2) {
+                System.arraycopy(nodes, head, nodes, 0, tail - head);
+            } else {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                System.arraycopy(nodes, head, nodes, 0, tail - head);
+            }
+            tail -= head;
+            head = 0;
+        }
+        nodes[tail++] = node;
+    }
+
+    int poll() {
+        return nodes[head++];
+    }
+
+    int size() {
+        return tail - head;
+    }
+
+    boolean isEmpty() {
+        return head == tail;
+    }
+}
@@ -0,0 +1,51 @@
+package aleos.maze.solver;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of primitive {@code long} entries.
+ */
+class LongHeap {
+    private long[] entries = new long[16];
+    private int size;
+
+    void push(long entry) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (entries[parent] <= entry) break;
+            entries[i] = entries[parent];
+            i = parent;
+        }
+        entries[i] = entry;
+    }
+
+    long poll() {
+        long top = entries[0];
+        long last = entries[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && entries[child + 1] < entries[child]) {
+                child++;
+            }
+            if (last <= entries[child]) break;
+            entries[i] = entries[child];
+            i = child;
+        }
+        entries[i] = last;
+        return top;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,255 @@
+package aleos.maze.solver;
+
+import aleos.maze.general.Direction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Describes a path through the maze grid as the grid indices of its corners.
+ * <p>
+ * Consecutive corners bound one straight segment, so the path is stored run-length encoded: a corridor of any
+ * length costs a single index. Length and turn count are computed once, without touching the grid, and the path
+ * can be expanded to every cell index it passes through when needed.
+ */
+public class MazePath {
+
+    private static final MazePath EMPTY = new MazePath(new int[0], 1, 0);
+
+    private final int[] corners;
+    private final int width;
+    private final int length;
+
+    private MazePath(int[] corners, int width, int length) {
+        this.corners = corners;
+        this.width = width;
+        this.length = length;
+    }
+
+    /**
+     * Creates a path through the specified nodes, each lying on the same row or column as the previous one.
+     *
+     * @param nodes the grid indices of the nodes from the start to the target, empty if there is no path
+     * @param width the width of the grid
+     * @return the path
+     */
+    public static MazePath of(int[] nodes, int width) {
+        if (nodes.length == 0) {
+            return EMPTY;
+        }
+
+        int[] corners = new int[nodes.length];
+        int cornerCount = 0;
+        int length = 0;
+        int previousStep = 0;
+
+        corners[cornerCount++] = nodes[0];
+        for (int i = 1; i < nodes.length; i++) {
+            int delta = nodes[i] - nodes[i - 1];
+            int step = stepOf(delta, width);
+            length += delta / step;
+
+            if (step == previousStep) {
+                // the node continues the current segment, so it replaces the last corner
+                corners[cornerCount - 1] = nodes[i];
+            } else {
+                corners[cornerCount++] = nodes[i];
+            }
+            previousStep = step;
+        }
+
+        return new MazePath(Arrays.copyOf(corners, cornerCount), width, length);
+    }
+
+    /**
+     * Creates the path from the source of a tree to the specified node.
+     *
+     * @param tree   the tree of shortest paths
+     * @param target the grid index of the last node of the path
+     * @param width  the width of the grid
+     * @return the path, empty if the target is unreachable
+     */
+    public static MazePath of(ShortestPathTree tree, int target, int width) {
+        if (!tree.isReachable(target)) {
+            return EMPTY;
+        }
+
+        int count = 1;
+        for (int node = target; tree.getParent(node) != ShortestPathTree.NO_PARENT; node = tree.getParent(node)) {
+            count++;
+        }
+
+        int[] nodes = new int[count];
+        for (int node = target; count > 0; node = tree.getParent(node)) {
+            nodes[--count] = node;
+        }
+        return of(nodes, width);
+    }
+
+    /**
+     * Returns the grid indices where the path starts, turns and ends; segment {@code i} runs from corner
+     * {@code i} to corner {@code i + 1}.
+     *
+     * @return the corners of the path, empty if there is no path
+     */
+    public int[] getCorners() {
+        return corners.clone();
+    }
+
+    /**
+     * Returns the grid index of the specified corner.
+     *
+     * @param index the number of the corner
+     * @return the grid index of the corner
+     */
+    public int getCorner(int index) {
+        return corners[index];
+    }
+
+    public int getCornerCount() {
+        return corners.length;
+    }
+
+    /**
+     * Returns the number of steps between adjacent grid cells along the path.
+     *
+     * @return the length of the path
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the number of times the path changes its direction.
+     *
+     * @return the number of turns
+     */
+    public int getTurnCount() {
+        return Math.max(0, corners.length - 2);
+    }
+
+    /**
+     * Checks if the path has any cells at all.
+     *
+     * @return true if there is no path, false otherwise
+     */
+    public boolean isEmpty() {
+        return corners.length == 0;
+    }
+
+    /**
+     * Returns the straight segments of the path from the start to the target.
+     *
+     * @return the segments of the path
+     */
+    public List<Segment> getSegments() {
+        List<Segment> segments = new ArrayList<>(Math.max(0, corners.length - 1));
+        for (int i = 1; i < corners.length; i++) {
+            int delta = corners[i] - corners[i - 1];
+            int step = stepOf(delta, width);
+            segments.add(new Segment(corners[i - 1], directionOf(step, width), delta / step));
+        }
+        return segments;
+    }
+
+    /**
+     * Returns the grid index of every cell the path passes through, from the start to the target.
+     *
+     * @return the cells of the path
+     */
+    public int[] toCellIndices() {
+        if (corners.length == 0) {
+            return new int[0];
+        }
+
+        int[] cells = new int[length + 1];
+        int count = 0;
+        cells[count++] = corners[0];
+        for (int i = 1; i < corners.length; i++) {
+            int step = stepOf(corners[i] - corners[i - 1], width);
+            for (int cell = corners[i - 1] + step; cell != corners[i] + step; cell += step) {
+                cells[count++] = cell;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Estimates the number of heap bytes retained by this path.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimateMemory() {
+        // object header with fields plus the array header and its payload
+        return 24 + 16 + 4L * corners.length;
+    }
+
+    @Override
+    public String toString() {
+        return "MazePath{" +
+                "length=" + length +
+                ", turns=" + getTurnCount() +
+                ", segments=" + Math.max(0, corners.length - 1) +
+                '}';
+    }
+
+    /**
+     * Returns the index difference of one step from the first to the second of two cells on the same row or column.
+     */
+    private static int stepOf(int delta, int width) {
+        if (delta % width == 0) {
+            return delta > 0 ? width : -width;
+        }
+        return delta > 0 ? 1 : -1;
+    }
+
+    private static Direction directionOf(int step, int width) {
+        if (step == 1) return Direction.EAST;
+        if (step == -1) return Direction.WEST;
+        return step == width ? Direction.SOUTH : Direction.NORTH;
+    }
+
+    /**
+     * A straight run of the path.
+     */
+    public static class Segment {
+
+        private final int start;
+        private final Direction direction;
+        private final int length;
+
+        Segment(int start, Direction direction, int length) {
+            this.start = start;
+            this.direction = direction;
+            this.length = length;
+        }
+
+        /**
+         * Returns the grid index of the first cell of the segment.
+         *
+         * @return the start of the segment
+         */
+        public int getStart() {
+            return start;
+        }
+
+        public Direction getDirection() {
+            return direction;
+        }
+
+        /**
+         * Returns the number of steps the segment makes in its direction.
+         *
+         * @return the length of the segment
+         */
+        public int getLength() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return direction + " " + length;
+        }
+    }
+}
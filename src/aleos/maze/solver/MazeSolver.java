@@ -0,0 +1,18 @@
+package aleos.maze.solver;
+
+import aleos.maze.graph.MazeGraph;
+
+/**
+ * Computes the shortest paths from a single source node to every other node of a maze graph.
+ */
+public interface MazeSolver {
+
+    /**
+     * Finds the shortest paths from the source node to all reachable nodes.
+     *
+     * @param graph  the maze graph
+     * @param source the index of the source node
+     * @return the tree of shortest paths rooted at the source node
+     */
+    ShortestPathTree solve(MazeGraph graph, int source);
+}
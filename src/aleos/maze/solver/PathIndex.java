@@ -0,0 +1,327 @@
+package aleos.maze.solver;
+
+import aleos.maze.general.Direction;
+import aleos.maze.graph.MazeGraph;
+
+import java.util.Arrays;
+
+/**
+ * Answers distance and path queries between any two nodes of a perfect maze.
+ * <p>
+ * A perfect maze is a tree, so the path between two nodes always runs through their lowest common ancestor. The
+ * index walks the tree once in depth-first preorder and stores, for every preorder position, the node, the
+ * position of its parent and its distance from the root. For two nodes at positions {@code u < v} the lowest
+ * common ancestor is the smallest parent position in {@code (u, v]}, which a sparse table over blocks of
+ * {@value #BLOCK_SIZE} positions finds with at most two short block scans and one table lookup. A distance query
+ * therefore takes constant time, a path query time proportional to the number of nodes on the path, and the
+ * index keeps a handful of ints per node.
+ * <p>
+ * The index never changes once built, so it may be queried from any number of threads.
+ */
+public class PathIndex {
+
+    private static final int BLOCK_BITS = 5;
+
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+
+    /**
+     * The preorder position of every grid index that is not a node of the tree.
+     */
+    private static final int NOT_IN_TREE = -1;
+
+    private final int width;
+
+    /**
+     * The preorder position of every grid index, or {@link #NOT_IN_TREE}.
+     */
+    private final int[] positions;
+
+    /**
+     * The grid index of the node at every preorder position.
+     */
+    private final int[] nodes;
+
+    /**
+     * The preorder position of the parent of the node at every preorder position, -1 for the root.
+     */
+    private final int[] parentPositions;
+
+    /**
+     * The distance from the root of the node at every preorder position.
+     */
+    private final int[] distances;
+
+    /**
+     * {@code blockMinimums[k][b]} is the smallest parent position in the {@code 2^k} blocks starting with block b.
+     */
+    private final int[][] blockMinimums;
+
+    /**
+     * Builds the index of the tree spanned by the nodes reachable from the specified root.
+     *
+     * @param graph the maze graph, which must not contain cycles
+     * @param root  the index of the root node, usually the entrance
+     * @throws IllegalArgumentException if the reachable part of the graph is not a tree
+     */
+    public PathIndex(MazeGraph graph, int root) {
+        this.width = graph.getWidth();
+        this.positions = new int[graph.getWidth() * graph.getHeight()];
+        Arrays.fill(positions, NOT_IN_TREE);
+
+        int capacity = 1024;
+        int[] preorder = new int[capacity];
+        int[] parents = new int[capacity];
+        int[] depths = new int[capacity];
+        int count = 0;
+
+        // the stack holds nodes with the position of their parent, a node is numbered when it is popped so the
+        // subtree of every node occupies consecutive positions
+        IntStack stack = new IntStack();
+        stack.push(root, -1);
+
+        while (!stack.isEmpty()) {
+            int parentPosition = stack.topParent();
+            int node = stack.pop();
+            if (positions[node] != NOT_IN_TREE) {
+                throw new IllegalArgumentException("The maze is not a perfect maze, node " + node + " has two paths");
+            }
+
+            if (count == capacity) {
+                capacity *= 2;
+                preorder = Arrays.copyOf(preorder, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                depths = Arrays.copyOf(depths, capacity);
+            }
+
+            int position = count++;
+            positions[node] = position;
+            preorder[position] = node;
+            parents[position] = parentPosition;
+            depths[position] = parentPosition == -1
+                    ? 0
+                    : depths[parentPosition] + graph.getEdgeWeight(preorder[parentPosition], node);
+
+            int parent = parentPosition == -1 ? -1 : preorder[parentPosition];
+            for (Direction direction : Direction.values()) {
+                int neighbour = graph.getNeighbour(node, direction);
+                if (neighbour == -1 || neighbour == parent) continue;
+
+                if (positions[neighbour] != NOT_IN_TREE) {
+                    throw new IllegalArgumentException("The maze is not a perfect maze, it has a cycle through " + node);
+                }
+                stack.push(neighbour, position);
+            }
+        }
+
+        this.nodes = Arrays.copyOf(preorder, count);
+        this.parentPositions = Arrays.copyOf(parents, count);
+        this.distances = Arrays.copyOf(depths, count);
+        this.blockMinimums = buildBlockMinimums(parentPositions);
+    }
+
+    /**
+     * Returns the index of the root node.
+     *
+     * @return the root of the tree
+     */
+    public int getRoot() {
+        return nodes[0];
+    }
+
+    /**
+     * Returns the number of nodes reachable from the root.
+     *
+     * @return the number of nodes in the tree
+     */
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Checks if a node is reachable from the root.
+     *
+     * @param index the index of the node
+     * @return true if the node is in the tree, false otherwise
+     */
+    public boolean contains(int index) {
+        return positions[index] != NOT_IN_TREE;
+    }
+
+    /**
+     * Returns the length of the path between two nodes.
+     *
+     * @param from the index of the first node
+     * @param to   the index of the second node
+     * @return the distance between the nodes, or {@link ShortestPathTree#UNREACHABLE} if either is not in the tree
+     */
+    public int getDistance(int from, int to) {
+        int fromPosition = positions[from];
+        int toPosition = positions[to];
+        if (fromPosition == NOT_IN_TREE || toPosition == NOT_IN_TREE) {
+            return ShortestPathTree.UNREACHABLE;
+        }
+
+        int ancestor = ancestorPosition(fromPosition, toPosition);
+        return distances[fromPosition] + distances[toPosition] - 2 * distances[ancestor];
+    }
+
+    /**
+     * Returns the lowest common ancestor of two nodes, the node where their paths from the root part.
+     *
+     * @param first  the index of the first node
+     * @param second the index of the second node
+     * @return the index of the ancestor, or -1 if either node is not in the tree
+     */
+    public int getLowestCommonAncestor(int first, int second) {
+        int firstPosition = positions[first];
+        int secondPosition = positions[second];
+        if (firstPosition == NOT_IN_TREE || secondPosition == NOT_IN_TREE) {
+            return -1;
+        }
+        return nodes[ancestorPosition(firstPosition, secondPosition)];
+    }
+
+    /**
+     * Returns the path between two nodes.
+     *
+     * @param from the index of the start node
+     * @param to   the index of the target node
+     * @return the path from the start to the target, empty if either node is not in the tree
+     */
+    public MazePath getPath(int from, int to) {
+        int fromPosition = positions[from];
+        int toPosition = positions[to];
+        if (fromPosition == NOT_IN_TREE || toPosition == NOT_IN_TREE) {
+            return MazePath.of(new int[0], width);
+        }
+
+        int ancestor = ancestorPosition(fromPosition, toPosition);
+        int up = 0;
+        for (int position = fromPosition; position != ancestor; position = parentPositions[position]) {
+            up++;
+        }
+        int down = 0;
+        for (int position = toPosition; position != ancestor; position = parentPositions[position]) {
+            down++;
+        }
+
+        // the start climbs to the ancestor, then the target's climb is laid out backwards
+        int[] path = new int[up + down + 1];
+        int count = 0;
+        for (int position = fromPosition; position != ancestor; position = parentPositions[position]) {
+            path[count++] = nodes[position];
+        }
+        path[count] = nodes[ancestor];
+        int last = path.length;
+        for (int position = toPosition; position != ancestor; position = parentPositions[position]) {
+            path[--last] = nodes[position];
+        }
+        return MazePath.of(path, width);
+    }
+
+    /**
+     * Estimates the number of heap bytes retained by this index.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimateMemory() {
+        long bytes = 48 + 16 + 4L * positions.length + 3 * (16 + 4L * nodes.length);
+        for (int[] level : blockMinimums) {
+            bytes += 16 + 4L * level.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the preorder position of the lowest common ancestor of the nodes at two positions.
+     */
+    private int ancestorPosition(int first, int second) {
+        if (first == second) {
+            return first;
+        }
+        return minimumParentPosition(Math.min(first, second) + 1, Math.max(first, second));
+    }
+
+    /**
+     * Returns the smallest parent position in the inclusive range of preorder positions.
+     */
+    private int minimumParentPosition(int from, int to) {
+        int fromBlock = from >>> BLOCK_BITS;
+        int toBlock = to >>> BLOCK_BITS;
+        if (fromBlock == toBlock) {
+            return scan(from, to);
+        }
+
+        int minimum = Math.min(scan(from, (fromBlock << BLOCK_BITS) + BLOCK_SIZE - 1), scan(toBlock << BLOCK_BITS, to));
+        if (toBlock - fromBlock > 1) {
+            int first = fromBlock + 1;
+            int last = toBlock - 1;
+            int level = 31 - Integer.numberOfLeadingZeros(last - first + 1);
+            minimum = Math.min(minimum, Math.min(blockMinimums[level][first], blockMinimums[level][last - (1 << level) + 1]));
+        }
+        return minimum;
+    }
+
+    private int scan(int from, int to) {
+        int minimum = Integer.MAX_VALUE;
+        for (int position = from; position <= to; position++) {
+            minimum = Math.min(minimum, parentPositions[position]);
+        }
+        return minimum;
+    }
+
+    private static int[][] buildBlockMinimums(int[] parentPositions) {
+        int blockCount = (parentPositions.length + BLOCK_SIZE - 1) >>> BLOCK_BITS;
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(1, blockCount));
+        int[][] minimums = new int[levels][];
+
+        minimums[0] = new int[blockCount];
+        Arrays.fill(minimums[0], Integer.MAX_VALUE);
+        for (int position = 0; position < parentPositions.length; position++) {
+            int block = position >>> BLOCK_BITS;
+            minimums[0][block] = Math.min(minimums[0][block], parentPositions[position]);
+        }
+
+        for (int level = 1; level < levels; level++) {
+            int span = 1 << (level - 1);
+            int[] previous = minimums[level - 1];
+            int[] current = new int[blockCount - (1 << level) + 1];
+            for (int block = 0; block < current.length; block++) {
+                current[block] = Math.min(previous[block], previous[block + span]);
+            }
+            minimums[level] = current;
+        }
+        return minimums;
+    }
+
+    /**
+     * A growable stack of nodes paired with the preorder position of their parent.
+     */
+    private static class IntStack {
+        private int[] nodes = new int[64];
+        private int[] parents = new int[64];
+        private int size;
+
+        void push(int node, int parentPosition) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                parents = Arrays.copyOf(parents, size * 2);
+            }
+            nodes[size] = node;
+            parents[size] = parentPosition;
+            size++;
+        }
+
+        int topParent() {
+            return parents[size - 1];
+        }
+
+        int pop() {
+            return nodes[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package aleos.maze.solver;
+
+/**
+ * Holds the outcome of a point-to-point search: the path found and the work spent finding it.
+ */
+public class PathResult {
+
+    private final int[] path;
+    private final int distance;
+    private final int expandedNodes;
+
+    /**
+     * Creates a new result.
+     *
+     * @param path          the node indices from the start to the target, empty if the target is unreachable
+     * @param distance      the length of the path, or {@link ShortestPathTree#UNREACHABLE}
+     * @param expandedNodes the number of nodes whose neighbours were examined
+     */
+    public PathResult(int[] path, int distance, int expandedNodes) {
+        this.path = path;
+        this.distance = distance;
+        this.expandedNodes = expandedNodes;
+    }
+
+    /**
+     * Creates a result for a target that cannot be reached.
+     *
+     * @param expandedNodes the number of nodes whose neighbours were examined
+     * @return the result without a path
+     */
+    static PathResult notFound(int expandedNodes) {
+        return new PathResult(new int[0], ShortestPathTree.UNREACHABLE, expandedNodes);
+    }
+
+    /**
+     * Returns the node indices of the path, starting with the start node and ending with the target node.
+     *
+     * @return the nodes of the path
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    public int getDistance() {
+        return distance;
+    }
+
+    public int getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    /**
+     * Checks if a path between the two nodes was found.
+     *
+     * @return true if the target is reachable, false otherwise
+     */
+    public boolean isFound() {
+        return path.length > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "PathResult{" +
+                "nodes=" + path.length +
+                ", distance=" + distance +
+                ", expandedNodes=" + expandedNodes +
+                '}';
+    }
+}
@@ -0,0 +1,19 @@
+package aleos.maze.solver;
+
+import aleos.maze.graph.MazeGraph;
+
+/**
+ * Finds the shortest path between two nodes of a maze graph, stopping as soon as the path is known.
+ */
+public interface PointToPointSolver {
+
+    /**
+     * Finds the shortest path from the start node to the target node.
+     *
+     * @param graph  the maze graph
+     * @param start  the index of the start node
+     * @param target the index of the target node
+     * @return the path with the number of nodes expanded by the search
+     */
+    PathResult solve(MazeGraph graph, int start, int target);
+}
@@ -0,0 +1,39 @@
+package aleos.maze.solver;
+
+/**
+ * The available {@link PointToPointSolver} implementations.
+ */
+public enum SearchStrategy {
+
+    /**
+     * Breadth-first search growing from both ends until the frontiers meet, finding the path with the fewest edges.
+     */
+    BIDIRECTIONAL(new BidirectionalSolver(), false),
+
+    /**
+     * A* search guided by the Manhattan distance to the target.
+     */
+    A_STAR(new AStarSolver(), true);
+
+    private final PointToPointSolver solver;
+    private final boolean weighted;
+
+    SearchStrategy(PointToPointSolver solver, boolean weighted) {
+        this.solver = solver;
+        this.weighted = weighted;
+    }
+
+    /**
+     * Returns whether the strategy finds the cheapest path on a graph whose edges weigh more than their length.
+     * Every strategy finds the shortest path on a graph whose edges weigh their length.
+     *
+     * @return true if the strategy honours edge weights
+     */
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    public PointToPointSolver getSolver() {
+        return solver;
+    }
+}
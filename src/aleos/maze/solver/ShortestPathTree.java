@@ -0,0 +1,93 @@
+package aleos.maze.solver;
+
+import java.util.Arrays;
+
+/**
+ * Holds the shortest paths from a source node as parent and distance arrays indexed by node index.
+ */
+public class ShortestPathTree {
+
+    /**
+     * The parent of the source node and of every unreachable node.
+     */
+    public static final int NO_PARENT = -1;
+
+    /**
+     * The distance of every unreachable node.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final int source;
+    private final int[] parents;
+    private final int[] distances;
+
+    /**
+     * Creates an empty tree where only the source node is reachable.
+     *
+     * @param source the index of the source node
+     * @param size   the number of indices of the graph
+     */
+    public ShortestPathTree(int source, int size) {
+        this.source = source;
+        this.parents = new int[size];
+        this.distances = new int[size];
+        Arrays.fill(parents, NO_PARENT);
+        Arrays.fill(distances, UNREACHABLE);
+        distances[source] = 0;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the previous node on the shortest path to the specified node.
+     *
+     * @param index the index of the node
+     * @return the index of the parent, or {@link #NO_PARENT} for the source and unreachable nodes
+     */
+    public int getParent(int index) {
+        return parents[index];
+    }
+
+    /**
+     * Returns the length of the shortest path to the specified node.
+     *
+     * @param index the index of the node
+     * @return the distance from the source, or {@link #UNREACHABLE}
+     */
+    public int getDistance(int index) {
+        return distances[index];
+    }
+
+    /**
+     * Checks if the specified node can be reached from the source.
+     *
+     * @param index the index of the node
+     * @return true if the node is reachable, false otherwise
+     */
+    public boolean isReachable(int index) {
+        return distances[index] != UNREACHABLE;
+    }
+
+    /**
+     * Returns the number of indices covered by the tree.
+     *
+     * @return the size of the tree arrays
+     */
+    public int size() {
+        return parents.length;
+    }
+
+    /**
+     * Records a shorter path to a node.
+     *
+     * @param index    the index of the node
+     * @param parent   the index of the previous node on the path
+     * @param distance the length of the path
+     */
+    void update(int index, int parent, int distance) {
+        parents[index] = parent;
+        distances[index] = distance;
+    }
+}
@@ -0,0 +1,182 @@
+package aleos.maze.solver;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps recently solved paths, keyed by the content of the maze and the endpoints of the path.
+ * <p>
+ * The content is identified by a hash of the maze walls, so a path found once is reused for every maze with the
+ * same walls, whichever object holds them. Entries are evicted least recently used first once their estimated
+ * size exceeds the capacity of the cache, which keeps its memory bounded however large the solved mazes are.
+ * A cache may be shared by several mazes and threads.
+ */
+public class SolutionCache {
+
+    /**
+     * The capacity of caches created without an explicit one.
+     */
+    public static final long DEFAULT_CAPACITY = 16L * 1024 * 1024;
+
+    private final long capacity;
+    private final LinkedHashMap<Key, MazePath> paths = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public SolutionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a cache holding paths of at most the specified estimated size in total.
+     *
+     * @param capacity the capacity of the cache in bytes, 0 disables caching
+     */
+    public SolutionCache(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the cached path between two nodes of a maze.
+     *
+     * @param contentHash the hash of the maze walls
+     * @param from        the index of the start node
+     * @param to          the index of the target node
+     * @return the cached path, or null if it has not been cached
+     */
+    public synchronized MazePath get(long contentHash, int from, int to) {
+        MazePath path = paths.get(new Key(contentHash, from, to));
+        if (path == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return path;
+    }
+
+    /**
+     * Caches the path between two nodes of a maze, evicting the least recently used paths if the cache is full.
+     * A path larger than the whole cache is not cached.
+     *
+     * @param contentHash the hash of the maze walls
+     * @param from        the index of the start node
+     * @param to          the index of the target node
+     * @param path        the path to cache
+     */
+    public synchronized void put(long contentHash, int from, int to, MazePath path) {
+        long pathWeight = path.estimateMemory();
+        if (pathWeight > capacity) {
+            return;
+        }
+
+        MazePath previous = paths.put(new Key(contentHash, from, to), path);
+        if (previous != null) {
+            weight -= previous.estimateMemory();
+        }
+        weight += pathWeight;
+
+        Iterator<MazePath> eldest = paths.values().iterator();
+        while (weight > capacity) {
+            weight -= eldest.next().estimateMemory();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes every path of a maze, typically because the maze has changed.
+     *
+     * @param contentHash the hash of the maze walls
+     */
+    public synchronized void invalidate(long contentHash) {
+        for (Iterator<Map.Entry<Key, MazePath>> entries = paths.entrySet().iterator(); entries.hasNext(); ) {
+            Map.Entry<Key, MazePath> entry = entries.next();
+            if (entry.getKey().contentHash == contentHash) {
+                weight -= entry.getValue().estimateMemory();
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes every path.
+     */
+    public synchronized void clear() {
+        paths.clear();
+        weight = 0;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the estimated size of the cached paths.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized int size() {
+        return paths.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SolutionCache{" +
+                "paths=" + paths.size() +
+                ", weight=" + weight +
+                ", capacity=" + capacity +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+
+    /**
+     * Identifies a path by the maze content and its endpoints.
+     */
+    private static class Key {
+        private final long contentHash;
+        private final int from;
+        private final int to;
+
+        Key(long contentHash, int from, int to) {
+            this.contentHash = contentHash;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return contentHash == key.contentHash && from == key.from && to == key.to;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Long.hashCode(contentHash) + from) + to;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package aleos.maze.solver;
+
+/**
+ * The available {@link MazeSolver} implementations.
+ */
+public enum SolverEngine {
+
+    /**
+     * Dijkstra's algorithm over a binary heap and a hash map of distances.
+     */
+    DIJKSTRA(new DijkstraSolver()),
+
+    /**
+     * Dial's bucket queue over primitive arrays, linear in the number of nodes.
+     */
+    BUCKET_QUEUE(new BucketQueueSolver()),
+
+    /**
+     * Dijkstra's algorithm over an indexed 4-ary heap with decrease-key, independent of the edge weights.
+     */
+    INDEXED_HEAP(new IndexedHeapSolver());
+
+    private final MazeSolver solver;
+
+    SolverEngine(MazeSolver solver) {
+        this.solver = solver;
+    }
+
+    public MazeSolver getSolver() {
+        return solver;
+    }
+}